@@ -27,6 +27,7 @@ package io.github.drakonkinst.worldsinger.api;
 import io.github.drakonkinst.worldsinger.cosmere.CosmerePlanet;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarLunagreeGenerator;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.LunagreeLocation;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlinePath;
 import java.util.List;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.client.world.ClientWorld;
@@ -51,6 +52,8 @@ public class ClientLunagreeData {
     // Associative arrays that have up to MAX_KNOWN_LUNAGREE_LOCATIONS values
     // The first null value marks the end of the list, if not full
     private final LunagreeLocation[] lunagreeLocations = new LunagreeLocation[MAX_KNOWN_LUNAGREE_LOCATIONS];
+    // Rainline paths for each lunagree location, built from the synced rainline nodes
+    private final RainlinePath[] rainlinePaths = new RainlinePath[MAX_KNOWN_LUNAGREE_LOCATIONS];
 
     private @Nullable LunagreeLocation nearestLunagreeLocation = null;
     private boolean needsUpdate = true;
@@ -70,16 +73,42 @@ public class ClientLunagreeData {
         return lunagreeLocations;
     }
 
+    public RainlinePath[] getRainlinePaths() {
+        return rainlinePaths;
+    }
+
     public void setLunagreeLocations(List<LunagreeLocation> locations) {
+        RainlinePath[] oldRainlinePaths = rainlinePaths.clone();
+        LunagreeLocation[] oldLunagreeLocations = lunagreeLocations.clone();
         for (int i = 0; i < MAX_KNOWN_LUNAGREE_LOCATIONS; ++i) {
             if (i >= locations.size()) {
                 lunagreeLocations[i] = null;
+                rainlinePaths[i] = null;
             } else {
-                lunagreeLocations[i] = locations.get(i);
+                LunagreeLocation location = locations.get(i);
+                lunagreeLocations[i] = location;
+                rainlinePaths[i] = getOrCreateRainlinePath(location, oldLunagreeLocations,
+                        oldRainlinePaths);
             }
         }
     }
 
+    // Building a path is relatively expensive, so reuse paths for lunagrees that are still known
+    @Nullable
+    private static RainlinePath getOrCreateRainlinePath(LunagreeLocation location,
+            LunagreeLocation[] oldLunagreeLocations, RainlinePath[] oldRainlinePaths) {
+        for (int i = 0; i < oldLunagreeLocations.length; ++i) {
+            if (location.equals(oldLunagreeLocations[i])) {
+                return oldRainlinePaths[i];
+            }
+        }
+        if (location.rainlineNodes().size() != RainlinePath.RAINLINE_NODE_COUNT) {
+            return null;
+        }
+        // Baked like on the server, so predicted positions match exactly
+        return new RainlinePath(location.rainlineNodes(), true);
+    }
+
     @Nullable
     public LunagreeLocation getNearestLunagreeLocation(int x, int z, int maxDistance) {
         if (nearestLunagreeLocation == null) {
@@ -24,9 +24,12 @@
 
 package io.github.drakonkinst.worldsinger.api;
 
+import io.github.drakonkinst.worldsinger.cosmere.CosmerePlanet;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.LunagreeLocation;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlinePath;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlineSpawner;
 import io.github.drakonkinst.worldsinger.entity.rainline.RainlineEntity;
-import io.github.drakonkinst.worldsinger.util.VectorUtil;
+import java.util.BitSet;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.client.render.Camera;
@@ -34,48 +37,90 @@ import net.minecraft.client.world.ClientWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
+import org.joml.Vector2f;
 
+// Path-following rainline positions only depend on world time, so they are predicted from the
+// synced lunagree data. Tracked rainline entities are still used for wandering rainlines.
 public class ClientRainlineData {
 
     private static final float RAINLINE_GRADIENT_RADIUS = 32;
     private static final float RAINLINE_SKY_GRADIENT_RADIUS = 128;
+    private static final float MAX_SEARCH_RADIUS =
+            RAINLINE_SKY_GRADIENT_RADIUS + RainlineSpawner.RAINLINE_RADIUS;
 
     @SuppressWarnings("UnstableApiUsage")
     public static ClientRainlineData get(World world) {
         return world.getAttachedOrCreate(ModClientAttachmentTypes.RAINLINE_DATA);
     }
 
-    private RainlineEntity nearestRainlineEntity = null;
+    private final Vector2f predictedPos = new Vector2f();
+    private boolean rainlineNearby = false;
+    private double nearestRainlineX;
+    private double nearestRainlineZ;
 
     public void update(ClientWorld world, ClientPlayerEntity player) {
-        nearestRainlineEntity = RainlineSpawner.getNearestRainlineEntity(world, getCameraPos(),
-                RAINLINE_SKY_GRADIENT_RADIUS);
-    }
+        Vec3d cameraPos = getCameraPos();
+        double minDistSq = MAX_SEARCH_RADIUS * MAX_SEARCH_RADIUS;
+        rainlineNearby = false;
+
+        RainlineEntity nearestRainlineEntity = RainlineSpawner.getNearestRainlineEntity(world,
+                cameraPos, RAINLINE_SKY_GRADIENT_RADIUS);
+        if (nearestRainlineEntity != null) {
+            setNearestRainline(nearestRainlineEntity.getX(), nearestRainlineEntity.getZ());
+            minDistSq = getHorizontalDistSq(cameraPos, nearestRainlineX, nearestRainlineZ);
+        }
 
-    public RainlineEntity getNearestRainlineEntity() {
-        return nearestRainlineEntity;
+        if (!CosmerePlanet.isLumar(world)) {
+            return;
+        }
+        ClientLunagreeData lunagreeData = ClientLunagreeData.get(world);
+        LunagreeLocation[] lunagreeLocations = lunagreeData.getLunagreeLocations();
+        RainlinePath[] rainlinePaths = lunagreeData.getRainlinePaths();
+        for (int i = 0; i < lunagreeLocations.length; ++i) {
+            LunagreeLocation location = lunagreeLocations[i];
+            if (location == null) {
+                break;
+            }
+            RainlinePath path = rainlinePaths[i];
+            if (path == null) {
+                continue;
+            }
+            // The server never has a path-following rainline outside of a rainline sea. Lunagrees
+            // without any rainline sea steps only have their tracked entities.
+            BitSet rainlineSeaSteps = location.rainlineSeaSteps();
+            for (int index = 0; index < RainlineSpawner.NUM_RAINLINES_PER_LUNAGREE; ++index) {
+                int stepOffset = path.getStepOffset(index);
+                if (!rainlineSeaSteps.get(path.getRainlineStep(world, stepOffset))) {
+                    continue;
+                }
+                path.getRainlinePosition(world, stepOffset, predictedPos);
+                double distSq = getHorizontalDistSq(cameraPos, predictedPos.x, predictedPos.y);
+                if (distSq < minDistSq) {
+                    setNearestRainline(predictedPos.x, predictedPos.y);
+                    minDistSq = distSq;
+                }
+            }
+        }
     }
 
     public boolean isRainlineNearby() {
-        return nearestRainlineEntity != null;
+        return rainlineNearby;
     }
 
     public boolean isUnderNearestRainline(BlockPos pos) {
-        if (nearestRainlineEntity == null) {
+        if (!rainlineNearby) {
             return false;
         }
-        double distSq = VectorUtil.getHorizontalDistSq(pos.toCenterPos(),
-                nearestRainlineEntity.getPos());
+        double distSq = getHorizontalDistSq(pos.toCenterPos(), nearestRainlineX, nearestRainlineZ);
         return distSq < RAINLINE_GRADIENT_RADIUS * RAINLINE_GRADIENT_RADIUS;
     }
 
     public float getRainlineGradient(boolean isSkyDarken) {
-        if (nearestRainlineEntity == null) {
+        if (!rainlineNearby) {
             return 0.0f;
         }
         float radius = isSkyDarken ? RAINLINE_SKY_GRADIENT_RADIUS : RAINLINE_GRADIENT_RADIUS;
-        double distSq = VectorUtil.getHorizontalDistSq(getCameraPos(),
-                nearestRainlineEntity.getPos());
+        double distSq = getHorizontalDistSq(getCameraPos(), nearestRainlineX, nearestRainlineZ);
         if (distSq > radius * radius) {
             // Too far away
             return 0.0f;
@@ -83,6 +128,18 @@ public class ClientRainlineData {
         return 1.0f - (float) Math.sqrt(distSq) / radius;
     }
 
+    private void setNearestRainline(double x, double z) {
+        rainlineNearby = true;
+        nearestRainlineX = x;
+        nearestRainlineZ = z;
+    }
+
+    private static double getHorizontalDistSq(Vec3d pos, double x, double z) {
+        double deltaX = pos.getX() - x;
+        double deltaZ = pos.getZ() - z;
+        return deltaX * deltaX + deltaZ * deltaZ;
+    }
+
     private Vec3d getCameraPos() {
         Camera camera = MinecraftClient.getInstance().gameRenderer.getCamera();
         return camera.getPos();
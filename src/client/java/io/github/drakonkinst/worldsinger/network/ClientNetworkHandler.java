@@ -26,6 +26,7 @@ package io.github.drakonkinst.worldsinger.network;
 import io.github.drakonkinst.worldsinger.Worldsinger;
 import io.github.drakonkinst.worldsinger.api.ClientLunagreeData;
 import io.github.drakonkinst.worldsinger.entity.attachments.ModAttachmentTypes;
+import io.github.drakonkinst.worldsinger.api.sync.AttachmentSync;
 import io.github.drakonkinst.worldsinger.api.sync.SyncableAttachment;
 import io.github.drakonkinst.worldsinger.cosmere.CosmerePlanet;
 import io.github.drakonkinst.worldsinger.cosmere.PossessionManager;
@@ -42,14 +43,15 @@ import io.github.drakonkinst.worldsinger.network.packet.PossessSetPayload;
 import io.github.drakonkinst.worldsinger.network.packet.SeetheUpdatePayload;
 import io.github.drakonkinst.worldsinger.network.packet.ShapeshiftAttackPayload;
 import io.github.drakonkinst.worldsinger.network.packet.ShapeshiftSyncPayload;
+import io.netty.buffer.Unpooled;
 import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
-import net.fabricmc.fabric.impl.attachment.AttachmentRegistryImpl;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.client.world.ClientWorld;
 import net.minecraft.entity.Entity;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.world.World;
 
 @SuppressWarnings({ "UnqualifiedStaticUsage", "UnstableApiUsage", "resource" })
@@ -81,7 +83,7 @@ public final class ClientNetworkHandler {
 
         ClientPlayNetworking.registerGlobalReceiver(AttachmentEntitySyncPayload.ID,
                 (payload, context) -> {
-                    AttachmentType<?> attachmentType = AttachmentRegistryImpl.get(
+                    AttachmentType<?> attachmentType = AttachmentSync.getAttachmentTypeBySyncId(
                             payload.attachmentId());
                     if (attachmentType == null) {
                         Worldsinger.LOGGER.warn(
@@ -103,7 +105,9 @@ public final class ClientNetworkHandler {
                     }
                     Object obj = entity.getAttachedOrCreate(attachmentType);
                     if (obj instanceof SyncableAttachment attachment) {
-                        attachment.syncFromNbt(payload.nbt());
+                        attachment.readSyncData(
+                                new PacketByteBuf(Unpooled.wrappedBuffer(payload.data())),
+                                payload.fieldMask());
                     } else {
                         Worldsinger.LOGGER.warn(
                                 "Could not process entity attachment sync because attachment is not syncable");
@@ -25,7 +25,12 @@ package io.github.drakonkinst.worldsinger.registry;
 
 import io.github.drakonkinst.worldsinger.api.ClientLunagreeData;
 import io.github.drakonkinst.worldsinger.api.ClientRainlineData;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlineTracker;
 import io.github.drakonkinst.worldsinger.entity.PossessionClientUtil;
+import io.github.drakonkinst.worldsinger.entity.rainline.RainlineEntity;
+import io.github.drakonkinst.worldsinger.world.BlockIndexManager;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.event.player.AttackEntityCallback;
 import net.fabricmc.fabric.api.event.player.UseEntityCallback;
@@ -51,6 +56,22 @@ public final class ModClientEventHandlers {
             ClientLunagreeData.get(world).update(world, player);
             ClientRainlineData.get(world).update(world, player);
         });
+
+        ClientChunkEvents.CHUNK_LOAD.register(
+                (world, chunk) -> BlockIndexManager.get(world).onChunkLoaded(chunk));
+        ClientChunkEvents.CHUNK_UNLOAD.register(
+                (world, chunk) -> BlockIndexManager.get(world).onChunkUnloaded(chunk));
+
+        ClientEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof RainlineEntity rainlineEntity) {
+                RainlineTracker.get(world).update(rainlineEntity);
+            }
+        });
+        ClientEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof RainlineEntity rainlineEntity) {
+                RainlineTracker.get(world).remove(rainlineEntity);
+            }
+        });
     }
 
     private static void registerSelfTargetingEventHandlers() {
@@ -0,0 +1,120 @@
+package io.github.drakonkinst.worldsinger.cosmere;
+
+import io.github.drakonkinst.worldsinger.world.SyntheticData;
+import io.github.drakonkinst.worldsinger.world.SyntheticWorld;
+import it.unimi.dsi.fastutil.Pair;
+import it.unimi.dsi.fastutil.ints.IntObjectPair;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Blocks;
+import net.minecraft.fluid.Fluids;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WaterReactionManagerBenchmark {
+
+    private static final int LEGACY_MAX_WATER_AMOUNT = 2500;
+    private static final int LEGACY_MAX_ITERATIONS = 129;
+    private static final int LEGACY_MAX_DEPTH = 32;
+
+    private SyntheticWorld world;
+    private SyntheticData data;
+    private final List<Pair<BlockPos, WaterReactive>> reactiveBlocks = new ArrayList<>();
+    private final BlockPos centerPos = new BlockPos(0, 62, 0);
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        data = new SyntheticData().fluidTag(FluidTags.WATER, Fluids.WATER, Fluids.FLOWING_WATER)
+                .bind();
+
+        // A pool of water, large enough to hit the iteration limit
+        world = SyntheticWorld.create();
+        world.fill(-16, 48, -16, 15, 55, 15, Blocks.STONE.getDefaultState());
+        world.fill(-12, 56, -12, 11, 62, 11, Blocks.WATER.getDefaultState());
+    }
+
+    @TearDown
+    public void tearDown() {
+        data.close();
+    }
+
+    // Absorbing water removes it, so put it back before the next invocation
+    @TearDown(Level.Invocation)
+    public void resetWorld() {
+        world.resetBlockStates();
+    }
+
+    @Benchmark
+    public int absorbWaterAndCollectReactives() {
+        reactiveBlocks.clear();
+        return WaterReactionManager.absorbWaterAndCollectReactives(world, centerPos,
+                reactiveBlocks);
+    }
+
+    // The previous implementation, which queued boxed positions, for comparison
+    @Benchmark
+    public int absorbWaterAndCollectReactivesLegacy() {
+        reactiveBlocks.clear();
+        Queue<IntObjectPair<BlockPos>> queue = new ArrayDeque<>();
+        LongSet visited = new LongOpenHashSet();
+        queue.add(IntObjectPair.of(0, centerPos));
+
+        int numIterations = 0;
+        int totalWaterAmount = 0;
+
+        boolean shouldConsumeWater = true;
+        while (!queue.isEmpty()) {
+            IntObjectPair<BlockPos> next = queue.poll();
+            BlockPos pos = next.right();
+            if (!visited.add(pos.asLong())) {
+                continue;
+            }
+
+            int waterAmount = WaterReactionManager.absorbWaterAtBlock(world, pos);
+            if (waterAmount <= 0) {
+                WaterReactive reactive = WaterReactionManager.getIfWaterReactive(pos,
+                        world.getBlockState(pos));
+                if (reactive != null) {
+                    reactiveBlocks.add(Pair.of(pos, reactive));
+                }
+            } else if (shouldConsumeWater) {
+                totalWaterAmount += waterAmount;
+                shouldConsumeWater = totalWaterAmount < LEGACY_MAX_WATER_AMOUNT;
+                int depth = next.leftInt();
+                if (depth >= LEGACY_MAX_DEPTH) {
+                    continue;
+                }
+                for (Direction direction : Direction.values()) {
+                    queue.add(IntObjectPair.of(depth + 1, pos.offset(direction)));
+                }
+            }
+            if (++numIterations >= LEGACY_MAX_ITERATIONS) {
+                break;
+            }
+        }
+        return Math.min(totalWaterAmount, LEGACY_MAX_WATER_AMOUNT);
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.drakonkinst.worldsinger.cosmere.lumar;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mojang.serialization.JsonOps;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.util.math.random.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Compares the generic nearest lunagree lookup with the allocation-free paths
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NearestLunagreeBenchmark {
+
+    private static final int WORLD_RADIUS = 10000;
+    private static final int NUM_POSITIONS = 1024;
+    // Consecutive queries mostly stay in the same cell, like an entity or a column sweep
+    private static final int POSITION_SPREAD = 64;
+
+    private LumarLunagreeGenerator generator;
+    private final NearestLunagreeQuery query = new NearestLunagreeQuery();
+    private final int[] positionsX = new int[NUM_POSITIONS];
+    private final int[] positionsZ = new int[NUM_POSITIONS];
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        // Place a lunagree in every cell, wherever the grid first lands in it
+        LumarLunagreeGenerator keyGenerator = new LumarLunagreeGenerator();
+        LongSet usedKeys = new LongOpenHashSet();
+        JsonArray lunagrees = new JsonArray();
+        for (int x = -WORLD_RADIUS; x <= WORLD_RADIUS; x += 300) {
+            for (int z = -WORLD_RADIUS; z <= WORLD_RADIUS; z += 300) {
+                long key = keyGenerator.getKeyForPos(x, z);
+                if (!usedKeys.add(key)) {
+                    continue;
+                }
+                JsonObject data = new JsonObject();
+                data.addProperty("block_x", x);
+                data.addProperty("block_z", z);
+                data.addProperty("spore_id", VerdantSpores.ID);
+                JsonObject entry = new JsonObject();
+                entry.addProperty("cell", key);
+                entry.add("data", data);
+                lunagrees.add(entry);
+            }
+        }
+        JsonObject root = new JsonObject();
+        root.add("lunagrees", lunagrees);
+        generator = LumarLunagreeGenerator.CODEC.parse(JsonOps.INSTANCE, root).getOrThrow();
+
+        Random random = Random.create(0L);
+        int x = 0;
+        int z = 0;
+        for (int i = 0; i < NUM_POSITIONS; ++i) {
+            if (i % 16 == 0) {
+                x = random.nextBetween(-WORLD_RADIUS, WORLD_RADIUS);
+                z = random.nextBetween(-WORLD_RADIUS, WORLD_RADIUS);
+            }
+            positionsX[i] = x + random.nextBetween(-POSITION_SPREAD, POSITION_SPREAD);
+            positionsZ[i] = z + random.nextBetween(-POSITION_SPREAD, POSITION_SPREAD);
+        }
+    }
+
+    // Equivalent to the default LunagreeGenerator.getNearestLunagree()
+    @Benchmark
+    public LunagreeLocation defaultLookup() {
+        int i = nextIndex();
+        int x = positionsX[i];
+        int z = positionsZ[i];
+        return LunagreeGenerator.findNearestLunagree(generator.getLunagreesNearPos(null, x, z), x,
+                z, LumarLunagreeGenerator.SPORE_FALL_RADIUS);
+    }
+
+    @Benchmark
+    public LunagreeLocation directLookup() {
+        int i = nextIndex();
+        return generator.getNearestLunagree(null, positionsX[i], positionsZ[i],
+                LumarLunagreeGenerator.SPORE_FALL_RADIUS);
+    }
+
+    @Benchmark
+    public LunagreeLocation memoizedLookup() {
+        int i = nextIndex();
+        return query.find(null, generator, positionsX[i], positionsZ[i],
+                LumarLunagreeGenerator.SPORE_FALL_RADIUS);
+    }
+
+    private int nextIndex() {
+        index = (index + 1) & (NUM_POSITIONS - 1);
+        return index;
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.drakonkinst.worldsinger.cosmere.lumar;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.drakonkinst.worldsinger.util.math.Int2;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Vec2f;
+import net.minecraft.util.math.random.Random;
+import org.joml.Vector2f;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RainlinePathBenchmark {
+
+    private List<Int2> rainlineNodes;
+    private RainlinePath path;
+    private RainlinePath bakedPath;
+    private final Vector2f pos = new Vector2f();
+    private ServerWorld world;
+    private long time = 0;
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        rainlineNodes = RainlinePath.generateRainlineNodes(0, 0, Random.create(0L));
+        path = new RainlinePath(rainlineNodes);
+        bakedPath = new RainlinePath(rainlineNodes, true);
+        world = mock(ServerWorld.class, Mockito.withSettings().stubOnly());
+        when(world.getTime()).thenAnswer(invocation -> time);
+    }
+
+    @Benchmark
+    public RainlinePath createPath() {
+        return new RainlinePath(rainlineNodes);
+    }
+
+    // Steps through the whole cycle, so every spline segment gets evaluated
+    @Benchmark
+    public Vec2f getRainlinePosition() {
+        time += 37;
+        return path.getRainlinePosition(world, 0);
+    }
+
+    @Benchmark
+    public Vector2f getRainlinePositionInPlace() {
+        time += 37;
+        path.getRainlinePosition(world, 0, pos);
+        return pos;
+    }
+
+    @Benchmark
+    public Vector2f getBakedRainlinePosition() {
+        time += 37;
+        bakedPath.getRainlinePosition(world, 0, pos);
+        return pos;
+    }
+}
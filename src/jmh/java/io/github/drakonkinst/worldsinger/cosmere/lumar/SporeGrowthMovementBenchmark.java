@@ -0,0 +1,63 @@
+package io.github.drakonkinst.worldsinger.cosmere.lumar;
+
+import io.github.drakonkinst.worldsinger.registry.ModDataTables;
+import io.github.drakonkinst.worldsinger.registry.tag.ModBlockTags;
+import io.github.drakonkinst.worldsinger.world.SyntheticData;
+import io.github.drakonkinst.worldsinger.world.SyntheticWorld;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SporeGrowthMovementBenchmark {
+
+    private SyntheticWorld world;
+    private SyntheticData data;
+    private final Vector3d force = new Vector3d();
+    private final BlockPos pos = new BlockPos(8, 64, 8);
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        data = new SyntheticData().blockTag(ModBlockTags.HAS_IRON, Blocks.IRON_BLOCK)
+                .blockTag(ModBlockTags.BLOCKS_INVESTITURE, Blocks.GOLD_BLOCK)
+                .blockDataTable(ModDataTables.BLOCK_METAL_CONTENT, Blocks.IRON_BLOCK, 9)
+                .bind();
+
+        // A spore growth sitting on a stone floor next to a few iron blocks, with a gold block
+        // (standing in for an investiture blocker) shielding it from one more
+        world = SyntheticWorld.create();
+        world.fill(-16, 48, -16, 31, 60, 31, Blocks.STONE.getDefaultState());
+        world.fill(10, 61, 10, 11, 62, 11, Blocks.IRON_BLOCK.getDefaultState());
+        world.setBlockState(4, 64, 8, Blocks.IRON_BLOCK.getDefaultState());
+        world.setBlockState(6, 64, 8, Blocks.GOLD_BLOCK.getDefaultState());
+        world.setBlockState(pos.getX(), pos.getY(), pos.getZ(),
+                Blocks.GREEN_CONCRETE.getDefaultState());
+    }
+
+    @TearDown
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public Vector3d calcExternalForce() {
+        SporeGrowthMovement.calcExternalForce(world, pos, force);
+        return force;
+    }
+}
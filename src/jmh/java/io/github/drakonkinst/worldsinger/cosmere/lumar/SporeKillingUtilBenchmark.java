@@ -0,0 +1,85 @@
+package io.github.drakonkinst.worldsinger.cosmere.lumar;
+
+import io.github.drakonkinst.worldsinger.registry.ModDataTables;
+import io.github.drakonkinst.worldsinger.registry.tag.ModBlockTags;
+import io.github.drakonkinst.worldsinger.world.SyntheticData;
+import io.github.drakonkinst.worldsinger.world.SyntheticWorld;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SporeKillingUtilBenchmark {
+
+    private static final int NUM_POSITIONS = 256;
+
+    // Stand-ins for salt blocks and investiture blockers
+    private static final Block KILLER_BLOCK = Blocks.QUARTZ_BLOCK;
+    private static final Block BLOCKER_BLOCK = Blocks.GOLD_BLOCK;
+    private static final int KILLER_RADIUS = 4;
+
+    private SyntheticWorld world;
+    private SyntheticData data;
+    private final BlockPos[] positions = new BlockPos[NUM_POSITIONS];
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        data = new SyntheticData().blockTag(ModBlockTags.KILLS_SPORES, KILLER_BLOCK)
+                .blockTag(ModBlockTags.BLOCKS_INVESTITURE, BLOCKER_BLOCK)
+                .blockDataTable(ModDataTables.SPORE_KILLING_RADIUS, KILLER_BLOCK, KILLER_RADIUS)
+                .bind();
+
+        // Killers are spread out under the surface so that some positions are in range of one and
+        // some are not, and every other killer is capped by a blocker so occlusion is tested too
+        world = SyntheticWorld.create();
+        world.fill(-32, 40, -32, 31, 63, 31, Blocks.STONE.getDefaultState());
+        for (int x = -28; x < 32; x += 12) {
+            for (int z = -28; z < 32; z += 12) {
+                world.setBlockState(x, 60, z, KILLER_BLOCK.getDefaultState());
+                if (((x + z) / 12 & 1) == 0) {
+                    world.fill(x - 1, 62, z - 1, x + 1, 62, z + 1,
+                            BLOCKER_BLOCK.getDefaultState());
+                }
+            }
+        }
+        for (int i = 0; i < NUM_POSITIONS; ++i) {
+            positions[i] = new BlockPos((i & 15) * 4 - 32, 64, (i >> 4) * 4 - 32);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public boolean isSporeKillingBlockNearby() {
+        index = (index + 1) & (NUM_POSITIONS - 1);
+        return SporeKillingUtil.isSporeKillingBlockNearby(world, positions[index]);
+    }
+
+    @Benchmark
+    public boolean isSporeKillingBlockNearbyForRange() {
+        index = (index + 1) & (NUM_POSITIONS - 1);
+        BlockPos pos = positions[index];
+        return SporeKillingUtil.isSporeKillingBlockNearbyForRange(world, pos.getX(),
+                pos.getY(), pos.getZ(), pos.getX() + 2, pos.getY() + 2, pos.getZ() + 2);
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.drakonkinst.worldsinger.util;
+
+import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarLunagreeGenerator;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.util.math.random.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HexCoordUtilBenchmark {
+
+    private static final int NUM_POSITIONS = 1024;
+    private static final int WORLD_RADIUS = 100000;
+
+    private final int[] positionsX = new int[NUM_POSITIONS];
+    private final int[] positionsZ = new int[NUM_POSITIONS];
+    private final long[] keys = new long[NUM_POSITIONS];
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        Random random = Random.create(0L);
+        for (int i = 0; i < NUM_POSITIONS; ++i) {
+            positionsX[i] = random.nextBetween(-WORLD_RADIUS, WORLD_RADIUS);
+            positionsZ[i] = random.nextBetween(-WORLD_RADIUS, WORLD_RADIUS);
+            keys[i] = HexCoordUtil.getHexCellForBlockPos(positionsX[i], positionsZ[i],
+                    LumarLunagreeGenerator.CELL_SIZE, 0, 0);
+        }
+    }
+
+    @Benchmark
+    public long getHexCellForBlockPos() {
+        int i = nextIndex();
+        return HexCoordUtil.getHexCellForBlockPos(positionsX[i], positionsZ[i],
+                LumarLunagreeGenerator.CELL_SIZE, 0, 0);
+    }
+
+    @Benchmark
+    public long[] getNeighborKeys() {
+        return HexCoordUtil.getNeighborKeys(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public void getNeighborKey(Blackhole blackhole) {
+        long key = keys[nextIndex()];
+        for (int i = 0; i < HexCoordUtil.NUM_NEIGHBORS; ++i) {
+            blackhole.consume(HexCoordUtil.getNeighborKey(key, i));
+        }
+    }
+
+    @Benchmark
+    public int getCenterForHexCell() {
+        long key = keys[nextIndex()];
+        int q = HexCoordUtil.getQ(key);
+        int r = HexCoordUtil.getR(key);
+        return HexCoordUtil.getCenterXForHexCell(q, r, LumarLunagreeGenerator.CELL_SIZE)
+                + HexCoordUtil.getCenterZForHexCell(q, r, LumarLunagreeGenerator.CELL_SIZE);
+    }
+
+    private int nextIndex() {
+        index = (index + 1) & (NUM_POSITIONS - 1);
+        return index;
+    }
+}
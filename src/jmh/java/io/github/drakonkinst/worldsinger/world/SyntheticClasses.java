@@ -0,0 +1,50 @@
+package io.github.drakonkinst.worldsinger.world;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.ExceptionMethod;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.objenesis.Objenesis;
+import org.objenesis.ObjenesisStd;
+
+// Creates concrete instances of game classes that are too heavy to construct in a benchmark, such
+// as World. The class is subclassed once with every abstract method throwing, and instances skip
+// the constructor entirely. Unlike a mock, overridden methods are plain virtual calls, so they
+// cost no more than they would in game. ByteBuddy and Objenesis both come with Mockito.
+final class SyntheticClasses {
+
+    private static final Objenesis OBJENESIS = new ObjenesisStd(true);
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    // For concrete classes, which only need their constructor skipped
+    static <T> T allocate(Class<T> type) {
+        return OBJENESIS.newInstance(type);
+    }
+
+    static <T> T instantiate(Class<T> type) {
+        return SyntheticClasses.instantiate(type, UnaryOperator.identity());
+    }
+
+    // Later method matchers take precedence, so the given overrides replace the throwing ones
+    static <T> T instantiate(Class<T> type, UnaryOperator<DynamicType.Builder<T>> overrides) {
+        // Defined in this package so that it can be loaded through this class's lookup
+        String name = SyntheticClasses.class.getPackageName() + "." + type.getSimpleName()
+                + "$Synthetic" + nextId.getAndIncrement();
+        DynamicType.Builder<T> builder = new ByteBuddy().subclass(type)
+                .name(name)
+                .method(ElementMatchers.isAbstract())
+                .intercept(ExceptionMethod.throwing(UnsupportedOperationException.class));
+        Class<? extends T> subclass = overrides.apply(builder)
+                .make()
+                .load(type.getClassLoader(),
+                        ClassLoadingStrategy.UsingLookup.of(MethodHandles.lookup()))
+                .getLoaded();
+        return OBJENESIS.newInstance(subclass);
+    }
+
+    private SyntheticClasses() {}
+}
@@ -0,0 +1,107 @@
+package io.github.drakonkinst.worldsinger.world;
+
+import io.github.drakonkinst.datatables.DataTable;
+import io.github.drakonkinst.datatables.DataTables;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagGroupLoader;
+import net.minecraft.registry.tag.TagKey;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.minecraft.util.Identifier;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+// Tags and data tables are normally loaded from data packs by a running server. Benchmarks bind
+// only the ones their code paths depend on, using vanilla blocks as stand-ins for mod blocks, so
+// that tag-gated code does real work. Must be bound and closed on the benchmark thread, since
+// static mocks are thread-local. DataTables#get is the only static mock, and is only reached when
+// a block index first scans a section, which happens during warmup.
+public class SyntheticData implements AutoCloseable {
+
+    private final Map<TagKey<Block>, List<RegistryEntry<Block>>> blockTags = new HashMap<>();
+    private final Map<TagKey<Fluid>, List<RegistryEntry<Fluid>>> fluidTags = new HashMap<>();
+    private final Map<Identifier, Object2IntMap<Block>> blockDataTables = new HashMap<>();
+    private MockedStatic<DataTables> dataTables;
+
+    public SyntheticData blockTag(TagKey<Block> tag, Block... blocks) {
+        List<RegistryEntry<Block>> entries = blockTags.computeIfAbsent(tag,
+                key -> new ArrayList<>());
+        for (Block block : blocks) {
+            entries.add(Registries.BLOCK.getEntry(block));
+        }
+        return this;
+    }
+
+    public SyntheticData fluidTag(TagKey<Fluid> tag, Fluid... fluids) {
+        List<RegistryEntry<Fluid>> entries = fluidTags.computeIfAbsent(tag,
+                key -> new ArrayList<>());
+        for (Fluid fluid : fluids) {
+            entries.add(Registries.FLUID.getEntry(fluid));
+        }
+        return this;
+    }
+
+    public SyntheticData blockDataTable(Identifier id, Block block, int value) {
+        blockDataTables.computeIfAbsent(id, key -> new Object2IntOpenHashMap<>())
+                .put(block, value);
+        return this;
+    }
+
+    public SyntheticData bind() {
+        // Replaces all tags in each registry, so tags not given here stay empty
+        SyntheticData.bindTags(Registries.BLOCK, blockTags);
+        SyntheticData.bindTags(Registries.FLUID, fluidTags);
+
+        dataTables = Mockito.mockStatic(DataTables.class);
+        for (Map.Entry<Identifier, Object2IntMap<Block>> entry : blockDataTables.entrySet()) {
+            // Queries are forwarded to the values directly rather than through a mock answer
+            BlockValues values = new BlockValues(entry.getValue());
+            DataTable dataTable = SyntheticClasses.instantiate(DataTable.class,
+                    builder -> builder.method(ElementMatchers.named("query")
+                                    .and(ElementMatchers.takesArguments(BlockState.class)))
+                            .intercept(MethodDelegation.withDefaultConfiguration()
+                                    .filter(ElementMatchers.named("query"))
+                                    .to(values)));
+            dataTables.when(() -> DataTables.get(entry.getKey())).thenReturn(dataTable);
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (dataTables != null) {
+            dataTables.close();
+            dataTables = null;
+        }
+    }
+
+    public static class BlockValues {
+
+        private final Object2IntMap<Block> values;
+
+        private BlockValues(Object2IntMap<Block> values) {
+            this.values = values;
+        }
+
+        public int query(BlockState state) {
+            return values.getInt(state.getBlock());
+        }
+    }
+
+    private static <T> void bindTags(Registry<T> registry,
+            Map<TagKey<T>, List<RegistryEntry<T>>> tags) {
+        registry.startTagReload(new TagGroupLoader.RegistryTags<>(registry.getKey(), tags))
+                .apply();
+    }
+}
@@ -0,0 +1,224 @@
+package io.github.drakonkinst.worldsinger.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+// In-memory world for benchmarks. Only block and fluid lookups, raycasts and chunk sections are
+// backed by real data, along with world attachments, and there are never any entities. Block
+// writes are stored and kept in the block indices, but do not notify neighbors, and can be undone
+// with resetBlockStates() so that every invocation sees the same world. Tags and data tables have
+// to be bound separately through SyntheticData.
+//
+// Created through SyntheticClasses without running any World constructor, so fields are set up by
+// init() instead, and anything else that touches World state will fail.
+@SuppressWarnings("UnstableApiUsage")
+public abstract class SyntheticWorld extends World implements BlockIndexManagerAccess {
+
+    public static final int BOTTOM_Y = 0;
+    public static final int HEIGHT = 256;
+    private static final int NUM_SECTIONS = HEIGHT >> 4;
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+
+    public static SyntheticWorld create() {
+        SyntheticWorld world = SyntheticClasses.instantiate(SyntheticWorld.class);
+        world.init();
+        return world;
+    }
+
+    private Long2ObjectMap<WorldChunk> chunks;
+    private Long2ObjectMap<ChunkSection[]> sectionArrays;
+    private Map<AttachmentType<?>, Object> attachments;
+    private BlockIndexManager blockIndexManager;
+    // Block states from before the first write to each position since the last reset
+    private Long2ObjectMap<BlockState> originalStates;
+
+    // Never called, see create()
+    private SyntheticWorld() {
+        super(null, null, null, null, false, false, 0L, 0);
+    }
+
+    private void init() {
+        chunks = new Long2ObjectOpenHashMap<>();
+        sectionArrays = new Long2ObjectOpenHashMap<>();
+        attachments = new HashMap<>();
+        blockIndexManager = new BlockIndexManager();
+        originalStates = new Long2ObjectOpenHashMap<>();
+    }
+
+    @Override
+    public BlockIndexManager worldsinger$getBlockIndexManager() {
+        return blockIndexManager;
+    }
+
+    @Override
+    public int getBottomY() {
+        return BOTTOM_Y;
+    }
+
+    @Override
+    public int getHeight() {
+        return HEIGHT;
+    }
+
+    @Override
+    public long getTime() {
+        return 0L;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        int y = pos.getY();
+        if (y < BOTTOM_Y || y >= BOTTOM_Y + HEIGHT) {
+            return AIR;
+        }
+        ChunkSection[] sections = sectionArrays.get(
+                ChunkPos.toLong(ChunkSectionPos.getSectionCoord(pos.getX()),
+                        ChunkSectionPos.getSectionCoord(pos.getZ())));
+        if (sections == null) {
+            return AIR;
+        }
+        return sections[(y - BOTTOM_Y) >> 4].getBlockState(pos.getX() & 15, y & 15,
+                pos.getZ() & 15);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return this.getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public boolean setBlockState(BlockPos pos, BlockState state, int flags, int maxUpdateDepth) {
+        int y = pos.getY();
+        if (y < BOTTOM_Y || y >= BOTTOM_Y + HEIGHT) {
+            return false;
+        }
+        BlockState oldState = this.getBlockState(pos);
+        if (oldState == state) {
+            return false;
+        }
+        originalStates.putIfAbsent(pos.asLong(), oldState);
+        this.setBlockState(pos.getX(), y, pos.getZ(), state);
+        blockIndexManager.onBlockChanged(pos, oldState, state);
+        return true;
+    }
+
+    @Override
+    @Nullable
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public WorldChunk getChunk(int chunkX, int chunkZ) {
+        return this.getOrCreateChunk(chunkX, chunkZ);
+    }
+
+    @Override
+    public <T extends Entity> List<T> getEntitiesByClass(Class<T> entityClass, Box box,
+            Predicate<? super T> predicate) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Entity> getOtherEntities(@Nullable Entity except, Box box,
+            Predicate<? super Entity> predicate) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <A> A getAttachedOrCreate(AttachmentType<A> type) {
+        return (A) attachments.computeIfAbsent(type, key -> key.initializer().get());
+    }
+
+    // Sets up the world without going through the block indices, so only use before the
+    // benchmark starts
+    public void setBlockState(int x, int y, int z, BlockState state) {
+        WorldChunk chunk = this.getOrCreateChunk(ChunkSectionPos.getSectionCoord(x),
+                ChunkSectionPos.getSectionCoord(z));
+        chunk.getSectionArray()[(y - BOTTOM_Y) >> 4].setBlockState(x & 15, y & 15, z & 15, state,
+                false);
+    }
+
+    public void fill(int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+            BlockState state) {
+        for (int x = minX; x <= maxX; ++x) {
+            for (int y = minY; y <= maxY; ++y) {
+                for (int z = minZ; z <= maxZ; ++z) {
+                    this.setBlockState(x, y, z, state);
+                }
+            }
+        }
+    }
+
+    // Undoes every block write since the last reset
+    public void resetBlockStates() {
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        for (Long2ObjectMap.Entry<BlockState> entry : originalStates.long2ObjectEntrySet()) {
+            mutable.set(entry.getLongKey());
+            BlockState currentState = this.getBlockState(mutable);
+            BlockState originalState = entry.getValue();
+            this.setBlockState(mutable.getX(), mutable.getY(), mutable.getZ(), originalState);
+            blockIndexManager.onBlockChanged(mutable, currentState, originalState);
+        }
+        originalStates.clear();
+    }
+
+    private WorldChunk getOrCreateChunk(int chunkX, int chunkZ) {
+        long key = ChunkPos.toLong(chunkX, chunkZ);
+        WorldChunk chunk = chunks.get(key);
+        if (chunk != null) {
+            return chunk;
+        }
+
+        ChunkSection[] sections = new ChunkSection[NUM_SECTIONS];
+        for (int i = 0; i < NUM_SECTIONS; ++i) {
+            sections[i] = new ChunkSection(
+                    new PalettedContainer<>(Block.STATE_IDS, AIR,
+                            PalettedContainer.PaletteProvider.BLOCK_STATE), null);
+        }
+        // Only the fields that the section lookups read are set
+        chunk = SyntheticClasses.allocate(WorldChunk.class);
+        SyntheticWorld.setField(Chunk.class, "pos", chunk, new ChunkPos(chunkX, chunkZ));
+        SyntheticWorld.setField(Chunk.class, "heightLimitView", chunk, this);
+        SyntheticWorld.setField(Chunk.class, "sectionArray", chunk, sections);
+        SyntheticWorld.setField(WorldChunk.class, "world", chunk, this);
+        chunks.put(key, chunk);
+        sectionArrays.put(key, sections);
+        return chunk;
+    }
+
+    private static void setField(Class<?> owner, String name, Object target, Object value) {
+        try {
+            Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not set " + owner.getSimpleName() + "#" + name,
+                    e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.drakonkinst.worldsinger.worldgen.lumar;
+
+import java.util.concurrent.TimeUnit;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.util.math.random.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Sampling the noise itself needs a full NoiseConfig, so only the entry selection is measured
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SporeSeaEntryBenchmark {
+
+    private static final int NUM_SAMPLES = 1024;
+
+    private final double[] noiseX = new double[NUM_SAMPLES];
+    private final double[] noiseY = new double[NUM_SAMPLES];
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        Random random = Random.create(0L);
+        for (int i = 0; i < NUM_SAMPLES; ++i) {
+            noiseX[i] = random.nextDouble() * 2.0 - 1.0;
+            noiseY[i] = random.nextDouble() * 2.0 - 1.0;
+        }
+    }
+
+    @Benchmark
+    public int getNearestSporeSeaEntry() {
+        index = (index + 1) & (NUM_SAMPLES - 1);
+        return LumarChunkGenerator.getNearestSporeSeaEntryIndex(noiseX[index], noiseY[index]);
+    }
+}
@@ -27,6 +27,9 @@ package io.github.drakonkinst.worldsinger.api.sync;
 import com.google.common.collect.ImmutableList;
 import io.github.drakonkinst.worldsinger.Worldsinger;
 import io.github.drakonkinst.worldsinger.entity.attachments.ModAttachmentTypes;
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
 import java.util.List;
 import net.fabricmc.fabric.api.attachment.v1.AttachmentTarget;
 import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
@@ -34,26 +37,67 @@ import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.entity.Entity;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.Nullable;
 
 @SuppressWarnings("UnstableApiUsage")
 public final class AttachmentSync {
 
+    // The index in this list is used to identify the attachment in sync packets
     public static final List<AttachmentType<? extends SyncableAttachment>> ENTITY_SYNCED_COMPONENTS = ImmutableList.of(
             ModAttachmentTypes.SILVER_LINED_BOAT, ModAttachmentTypes.THIRST,
             ModAttachmentTypes.MIDNIGHT_AETHER_BOND);
 
+    // Changes are collected over the tick so that an attachment is sent at most once per tick
+    private static final Object2IntMap<PendingSync> PENDING_SYNCS = new Object2IntLinkedOpenHashMap<>();
+
+    private record PendingSync(SyncableAttachmentTarget target,
+                               AttachmentType<? extends SyncableAttachment> attachmentType,
+                               SyncableAttachment attachment) {}
+
     public static <S extends SyncableAttachment> void sync(AttachmentTarget target,
             AttachmentType<S> attachmentType, SyncableAttachment attachment) {
+        AttachmentSync.sync(target, attachmentType, attachment, attachment.getAllFieldsMask());
+    }
+
+    // Marks the given fields as changed, to be sent at the end of the tick
+    public static <S extends SyncableAttachment> void sync(AttachmentTarget target,
+            AttachmentType<S> attachmentType, SyncableAttachment attachment, int fieldMask) {
+        // Bits for undeclared fields would only make the encoded mask longer
+        fieldMask &= attachment.getAllFieldsMask();
+        if (fieldMask == 0) {
+            return;
+        }
         if (target instanceof SyncableAttachmentTarget syncableAttachmentTarget) {
-            AttachmentSync.sync(syncableAttachmentTarget, attachmentType, attachment);
+            PendingSync key = new PendingSync(syncableAttachmentTarget, attachmentType, attachment);
+            PENDING_SYNCS.mergeInt(key, fieldMask, (a, b) -> a | b);
         } else {
             Worldsinger.LOGGER.warn("Cannot sync target " + target);
         }
     }
 
-    private static <S extends SyncableAttachment> void sync(SyncableAttachmentTarget target,
-            AttachmentType<S> attachmentType, SyncableAttachment attachment) {
-        CustomPayload payload = target.worldsinger$createSyncPacket(attachmentType, attachment);
+    public static void sendPendingSyncs() {
+        if (PENDING_SYNCS.isEmpty()) {
+            return;
+        }
+        for (Object2IntMap.Entry<PendingSync> entry : Object2IntMaps.fastIterable(PENDING_SYNCS)) {
+            PendingSync pendingSync = entry.getKey();
+            if (pendingSync.target().worldsinger$isRemovedForSync()) {
+                continue;
+            }
+            AttachmentSync.send(pendingSync.target(), pendingSync.attachmentType(),
+                    pendingSync.attachment(), entry.getIntValue());
+        }
+        PENDING_SYNCS.clear();
+    }
+
+    public static void clearPendingSyncs() {
+        PENDING_SYNCS.clear();
+    }
+
+    private static <S extends SyncableAttachment> void send(SyncableAttachmentTarget target,
+            AttachmentType<S> attachmentType, SyncableAttachment attachment, int fieldMask) {
+        CustomPayload payload = target.worldsinger$createSyncPacket(attachmentType, attachment,
+                fieldMask);
         for (ServerPlayerEntity player : target.worldsinger$getRecipientsForSync()) {
             if (attachment.shouldSyncWith(player)) {
                 ServerPlayNetworking.send(player, payload);
@@ -67,11 +111,23 @@ public final class AttachmentSync {
             if (attachment instanceof SyncableAttachment syncableAttachment
                     && syncableAttachment.shouldSyncWith(player)) {
                 CustomPayload payload = ((SyncableAttachmentTarget) target).worldsinger$createSyncPacket(
-                        type, syncableAttachment);
+                        type, syncableAttachment, syncableAttachment.getAllFieldsMask());
                 ServerPlayNetworking.send(player, payload);
             }
         }
     }
 
+    public static int getSyncId(AttachmentType<?> attachmentType) {
+        return ENTITY_SYNCED_COMPONENTS.indexOf(attachmentType);
+    }
+
+    @Nullable
+    public static AttachmentType<? extends SyncableAttachment> getAttachmentTypeBySyncId(int id) {
+        if (id < 0 || id >= ENTITY_SYNCED_COMPONENTS.size()) {
+            return null;
+        }
+        return ENTITY_SYNCED_COMPONENTS.get(id);
+    }
+
     private AttachmentSync() {}
 }
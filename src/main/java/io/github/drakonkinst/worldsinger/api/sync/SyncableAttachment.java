@@ -24,14 +24,20 @@
 
 package io.github.drakonkinst.worldsinger.api.sync;
 
-import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.network.ServerPlayerEntity;
 
 public interface SyncableAttachment {
 
-    void syncToNbt(NbtCompound nbt);
+    // Each bit of a field mask marks one synced field of the attachment. Returns the bits of every
+    // field the attachment declares, which keeps full syncs to the smallest possible varint.
+    int getAllFieldsMask();
 
-    void syncFromNbt(NbtCompound nbt);
+    // Writes only the fields in the mask, in a fixed order
+    void writeSyncData(PacketByteBuf buf, int fieldMask);
+
+    // Reads only the fields in the mask, in the same order they are written
+    void readSyncData(PacketByteBuf buf, int fieldMask);
 
     default boolean shouldSyncWith(ServerPlayerEntity entity) {
         return true;
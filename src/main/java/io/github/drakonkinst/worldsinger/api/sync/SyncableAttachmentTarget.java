@@ -34,5 +34,7 @@ public interface SyncableAttachmentTarget {
     Iterable<ServerPlayerEntity> worldsinger$getRecipientsForSync();
 
     <S extends SyncableAttachment> CustomPayload worldsinger$createSyncPacket(
-            AttachmentType<S> attachmentType, SyncableAttachment attachment);
+            AttachmentType<S> attachmentType, SyncableAttachment attachment, int fieldMask);
+
+    boolean worldsinger$isRemovedForSync();
 }
@@ -28,11 +28,8 @@ import net.minecraft.block.AbstractBlock;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.item.ItemPlacementContext;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.state.StateManager;
 import net.minecraft.state.property.Properties;
-import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.random.Random;
 import org.jetbrains.annotations.Nullable;
 
 public class CrimsonGrowthBlock extends Block implements SporeGrowthBlock {
@@ -55,20 +52,6 @@ public class CrimsonGrowthBlock extends Block implements SporeGrowthBlock {
         return placementState;
     }
 
-    @Override
-    public boolean hasRandomTicks(BlockState state) {
-        return !state.get(Properties.PERSISTENT);
-    }
-
-    @Override
-    public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
-        super.randomTick(state, world, pos, random);
-        // Decay over time
-        if (SporeGrowthBlock.canDecay(world, pos, state, random)) {
-            world.breakBlock(pos, true);
-        }
-    }
-
     @Override
     protected void appendProperties(StateManager.Builder<Block, BlockState> builder) {
         builder.add(Properties.PERSISTENT);
@@ -106,20 +106,6 @@ public class CrimsonSnareBlock extends Block implements Waterloggable, SporeGrow
                 .with(Properties.WATERLOGGED, ctx.getWorld().isWater(ctx.getBlockPos()));
     }
 
-    @Override
-    public boolean hasRandomTicks(BlockState state) {
-        return !state.get(Properties.PERSISTENT);
-    }
-
-    @Override
-    public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
-        super.randomTick(state, world, pos, random);
-        // Decay over time
-        if (SporeGrowthBlock.canDecay(world, pos, state, random)) {
-            world.breakBlock(pos, true);
-        }
-    }
-
     @Override
     public FluidState getFluidState(BlockState state) {
         return state.get(Properties.WATERLOGGED) ? Fluids.WATER.getStill(false)
@@ -229,15 +229,6 @@ public class CrimsonSpikeBlock extends Block implements Waterloggable, SporeGrow
         return state.with(ModProperties.DISCRETE_THICKNESS, thickness);
     }
 
-    @Override
-    public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
-        super.randomTick(state, world, pos, random);
-        // Decay over time
-        if (SporeGrowthBlock.canDecay(world, pos, state, random)) {
-            world.breakBlock(pos, true);
-        }
-    }
-
     @Override
     public void onLandedUpon(World world, BlockState state, BlockPos pos, Entity entity,
             double fallDistance) {
@@ -330,11 +321,6 @@ public class CrimsonSpikeBlock extends Block implements Waterloggable, SporeGrow
         return 0.125f;
     }
 
-    @Override
-    public boolean hasRandomTicks(BlockState state) {
-        return !state.get(Properties.PERSISTENT);
-    }
-
     @Override
     protected void appendProperties(Builder<Block, BlockState> builder) {
         super.appendProperties(builder);
@@ -138,20 +138,6 @@ public class CrimsonSpinesBlock extends Block implements Waterloggable, SporeGro
                 : super.getFluidState(state);
     }
 
-    @Override
-    public boolean hasRandomTicks(BlockState state) {
-        return !state.get(Properties.PERSISTENT);
-    }
-
-    @Override
-    public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
-        super.randomTick(state, world, pos, random);
-        // Decay over time
-        if (SporeGrowthBlock.canDecay(world, pos, state, random)) {
-            world.breakBlock(pos, true);
-        }
-    }
-
     @Override
     public BlockState getStateForNeighborUpdate(BlockState state, WorldView world,
             ScheduledTickView tickView, BlockPos pos, Direction direction, BlockPos neighborPos,
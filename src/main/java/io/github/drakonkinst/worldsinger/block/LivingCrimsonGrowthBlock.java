@@ -86,14 +86,15 @@ public class LivingCrimsonGrowthBlock extends CrimsonGrowthBlock implements Livi
     }
 
     @Override
-    public boolean hasRandomTicks(BlockState state) {
-        return super.hasRandomTicks(state) || !state.get(ModProperties.CATALYZED);
+    public boolean hasDecayTicks(BlockState state) {
+        return super.hasDecayTicks(state) || !state.get(ModProperties.CATALYZED);
     }
 
     @Override
-    public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
-        super.randomTick(state, world, pos, random);
-        if (!state.get(ModProperties.CATALYZED) && world.hasRain(pos.up())) {
+    public void decayTick(BlockState state, ServerWorld world, BlockPos pos, Random random,
+            SporeGrowthDecayTicker ticker) {
+        super.decayTick(state, world, pos, random, ticker);
+        if (!state.get(ModProperties.CATALYZED) && ticker.isRainedOn(pos)) {
             this.reactToWater(world, pos, state, Integer.MAX_VALUE, random);
         }
     }
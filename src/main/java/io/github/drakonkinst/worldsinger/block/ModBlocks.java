@@ -74,7 +74,6 @@ public final class ModBlocks {
                     // 0.5x strength of living version
                     .strength(1.0f)
                     .requiresTool()
-                    .ticksRandomly()
                     .allowsSpawning(Blocks::never)
                     .mapColor(MapColor.LIGHT_GRAY)
                     .sounds(ModSoundGroups.VERDANT_VINE_BRANCH), true);
@@ -85,7 +84,6 @@ public final class ModBlocks {
                     .solid()
                     .requiresTool()
                     .nonOpaque()
-                    .ticksRandomly()
                     .mapColor(MapColor.LIGHT_GRAY)
                     .sounds(ModSoundGroups.VERDANT_VINE_BRANCH), true);
     public static final Block DEAD_VERDANT_VINE_SNARE = register("dead_verdant_vine_snare",
@@ -95,7 +93,6 @@ public final class ModBlocks {
                     .requiresTool()
                     // 0.5x strength of living version
                     .strength(0.4f)
-                    .ticksRandomly()
                     .mapColor(MapColor.LIGHT_GRAY)
                     .sounds(ModSoundGroups.VERDANT_VINE_SNARE)
                     .pistonBehavior(PistonBehavior.DESTROY), true);
@@ -104,7 +101,6 @@ public final class ModBlocks {
                     // 0.5x strength of living version
                     .strength(0.2f)
                     .noCollision()
-                    .ticksRandomly()
                     .mapColor(MapColor.LIGHT_GRAY)
                     .sounds(ModSoundGroups.TWISTING_VERDANT_VINES)
                     .pistonBehavior(PistonBehavior.DESTROY), true);
@@ -114,7 +110,6 @@ public final class ModBlocks {
                     // 0.5x strength of living version
                     .strength(0.2f)
                     .noCollision()
-                    .ticksRandomly()
                     .mapColor(MapColor.LIGHT_GRAY)
                     .sounds(ModSoundGroups.TWISTING_VERDANT_VINES)
                     .pistonBehavior(PistonBehavior.DESTROY), false);
@@ -123,7 +118,6 @@ public final class ModBlocks {
                     // Same strength as Coral Block, same blast resistance as Pointed Dripstone
                     .strength(1.5f, 3.0f)
                     .requiresTool()
-                    .ticksRandomly()
                     .allowsSpawning(Blocks::never)
                     .mapColor(MapColor.LIGHT_GRAY)
                     .sounds(ModSoundGroups.CRIMSON_GROWTH), true);
@@ -133,7 +127,6 @@ public final class ModBlocks {
                     // Same strength as Pointed Dripstone
                     .strength(1.5f, 3.0f)
                     .solid()
-                    .ticksRandomly()
                     .dynamicBounds()
                     .requiresTool()
                     .solidBlock(Blocks::never)
@@ -154,7 +147,6 @@ public final class ModBlocks {
                     // Same as Amethyst Bud
                     .strength(1.5f)
                     .solid()
-                    .ticksRandomly()
                     .dynamicBounds()
                     .offset(AbstractBlock.OffsetType.XZ)
                     .mapColor(MapColor.LIGHT_GRAY)
@@ -166,7 +158,6 @@ public final class ModBlocks {
                     .strength(1.5f)
                     .solid()
                     .noCollision()
-                    .ticksRandomly()
                     .mapColor(MapColor.LIGHT_GRAY)
                     .sounds(ModSoundGroups.CRIMSON_SPINE)
                     .pistonBehavior(PistonBehavior.DESTROY), true);
@@ -282,7 +273,6 @@ public final class ModBlocks {
                     .nonOpaque()
                     // Double strength, same blast resistance as Stone
                     .strength(3.0F, 6.0F)
-                    .ticksRandomly()
                     .mapColor(MapColor.TERRACOTTA_PINK)
                     .allowsSpawning(Blocks::never)
                     .sounds(ModSoundGroups.ROSEITE), true);
@@ -297,7 +287,6 @@ public final class ModBlocks {
                     .solid()
                     .nonOpaque()
                     .sounds(ModSoundGroups.ROSEITE)
-                    .ticksRandomly()
                     .strength(1.5F)
                     .pistonBehavior(PistonBehavior.DESTROY), true);
     public static final Block LARGE_ROSEITE_BUD = register("large_roseite_bud",
@@ -95,20 +95,20 @@ public class RoseiteBlock extends Block implements SporeGrowthBlock, WaterReacti
     }
 
     @Override
-    public boolean hasRandomTicks(BlockState state) {
+    public boolean hasDecayTicks(BlockState state) {
         return !state.get(Properties.PERSISTENT) || !state.get(ModProperties.CATALYZED);
     }
 
     @Override
-    public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
-        super.randomTick(state, world, pos, random);
+    public void decayTick(BlockState state, ServerWorld world, BlockPos pos, Random random,
+            SporeGrowthDecayTicker ticker) {
         // Decay over time
-        if (SporeGrowthBlock.canDecay(world, pos, state, random)
+        if (SporeGrowthBlock.canDecay(world, pos, state, random, ticker)
                 && random.nextInt(DECAY_CHANCE) == 0) {
             world.breakBlock(pos, true);
         }
 
-        if (!state.get(ModProperties.CATALYZED) && world.hasRain(pos.up())) {
+        if (!state.get(ModProperties.CATALYZED) && ticker.isRainedOn(pos)) {
             this.reactToWater(world, pos, state, Integer.MAX_VALUE, random);
         }
     }
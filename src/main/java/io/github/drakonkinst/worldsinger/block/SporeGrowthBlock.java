@@ -23,8 +23,6 @@
  */
 package io.github.drakonkinst.worldsinger.block;
 
-import io.github.drakonkinst.worldsinger.cosmere.CosmerePlanet;
-import io.github.drakonkinst.worldsinger.cosmere.lumar.SeetheManager;
 import net.minecraft.block.BlockState;
 import net.minecraft.fluid.Fluids;
 import net.minecraft.server.world.ServerWorld;
@@ -32,23 +30,37 @@ import net.minecraft.state.property.Properties;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.random.Random;
 
+// Spore growth blocks do not random tick. Blocks that can decay or be recatalyzed are tracked per
+// chunk and ticked in bulk by SporeGrowthDecayTicker instead.
 public interface SporeGrowthBlock {
 
     // Spore growth blocks decay if not persistent and it is not raining.
-    static boolean canDecay(ServerWorld world, BlockPos pos, BlockState state, Random random) {
-        BlockPos abovePos = pos.add(0, 1, 0);
-        // Decays much slower unless on Lumar and the Seethe is on
-        int chanceDecay;
-        if (CosmerePlanet.isLumar(world) && SeetheManager.areSporesFluidized(world)) {
-            chanceDecay = 1;
-        } else {
-            chanceDecay = 10;
+    static boolean canDecay(ServerWorld world, BlockPos pos, BlockState state, Random random,
+            SporeGrowthDecayTicker ticker) {
+        if (state.get(Properties.PERSISTENT)) {
+            return false;
         }
+        // Decays much slower unless on Lumar and the Seethe is on
+        int chanceDecay = ticker.getDecayChance();
         // Decay slower if not open to sky or not above a fluid
-        if (!world.isSkyVisible(abovePos) && world.getFluidState(pos.down()).isOf(Fluids.EMPTY)) {
+        if (!world.isSkyVisible(pos.up()) && world.getFluidState(pos.down())
+                .isOf(Fluids.EMPTY)) {
             chanceDecay += 5;
         }
-        return (random.nextInt(chanceDecay) == 0) && !state.get(Properties.PERSISTENT)
-                && !world.hasRain(abovePos);
+        return (random.nextInt(chanceDecay) == 0) && !ticker.isRainedOn(pos);
+    }
+
+    // Whether the block should be tracked by SporeGrowthDecayTicker
+    default boolean hasDecayTicks(BlockState state) {
+        return !state.get(Properties.PERSISTENT);
+    }
+
+    // Called in place of a random tick
+    default void decayTick(BlockState state, ServerWorld world, BlockPos pos, Random random,
+            SporeGrowthDecayTicker ticker) {
+        // Decay over time
+        if (SporeGrowthBlock.canDecay(world, pos, state, random, ticker)) {
+            world.breakBlock(pos, true);
+        }
     }
 }
@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.block;
+
+import io.github.drakonkinst.worldsinger.cosmere.CosmerePlanet;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlineSpawner;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.SeetheManager;
+import io.github.drakonkinst.worldsinger.world.BlockIndexManager;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.biome.Biome.Precipitation;
+import net.minecraft.world.chunk.WorldChunk;
+
+// Replaces random ticks for spore growth blocks, which can cover whole chunks once grown. Blocks
+// that can decay or be recatalyzed are tracked per chunk by BlockIndexManager, and each chunk is
+// visited once per interval. Each tracked block is picked with the chance that it would have
+// received at least one random tick over the interval. Conditions shared by the whole world or
+// a whole column are evaluated once per visit, rather than by every block.
+public final class SporeGrowthDecayTicker {
+
+    // Chunks are spread out over the interval
+    private static final int DECAY_INTERVAL = 20;
+    private static final int SECTION_VOLUME = 16 * 16 * 16;
+    private static final byte COLUMN_UNKNOWN = 0;
+    private static final byte COLUMN_DRY = 1;
+    private static final byte COLUMN_RAINED_ON = 2;
+
+    public static void tickChunk(ServerWorld world, WorldChunk chunk, int randomTickSpeed) {
+        if (randomTickSpeed <= 0) {
+            return;
+        }
+        ChunkPos chunkPos = chunk.getPos();
+        if (Math.floorMod(world.getTime() + HashCommon.mix(chunkPos.toLong()), DECAY_INTERVAL)
+                != 0) {
+            return;
+        }
+        new SporeGrowthDecayTicker(world, chunk, randomTickSpeed).tick();
+    }
+
+    private final ServerWorld world;
+    private final WorldChunk chunk;
+    private final Random random;
+    // Log of the chance that a block receives no random ticks over the interval
+    private final double logMissChance;
+    private final int decayChance;
+    private final boolean isRaining;
+    private final byte[] columns = new byte[16 * 16];
+    private final LongArrayList selectedPositions = new LongArrayList();
+    private int skipCount;
+
+    private SporeGrowthDecayTicker(ServerWorld world, WorldChunk chunk, int randomTickSpeed) {
+        this.world = world;
+        this.chunk = chunk;
+        this.random = world.random;
+        this.logMissChance =
+                (double) randomTickSpeed * DECAY_INTERVAL * Math.log1p(-1.0 / SECTION_VOLUME);
+        // Decays much slower unless on Lumar and the Seethe is on
+        if (CosmerePlanet.isLumar(world) && SeetheManager.areSporesFluidized(world)) {
+            this.decayChance = 1;
+        } else {
+            this.decayChance = 10;
+        }
+        this.isRaining = world.isRaining();
+    }
+
+    private void tick() {
+        ChunkPos chunkPos = chunk.getPos();
+        // Decaying blocks changes the index, so collect them first
+        skipCount = this.nextSkipCount();
+        BlockIndexManager.get(world)
+                .getDecayingSporeGrowths()
+                .forEach(world, chunkPos.getStartX(), world.getBottomY(), chunkPos.getStartZ(),
+                        chunkPos.getEndX(), world.getTopYInclusive(), chunkPos.getEndZ(),
+                        (x, y, z, value) -> {
+                            if (skipCount > 0) {
+                                --skipCount;
+                                return;
+                            }
+                            selectedPositions.add(BlockPos.asLong(x, y, z));
+                            skipCount = this.nextSkipCount();
+                        });
+
+        for (int i = 0; i < selectedPositions.size(); ++i) {
+            BlockPos pos = BlockPos.fromLong(selectedPositions.getLong(i));
+            BlockState state = world.getBlockState(pos);
+            // May have been broken or changed by an earlier block
+            if (state.getBlock() instanceof SporeGrowthBlock sporeGrowth
+                    && sporeGrowth.hasDecayTicks(state)) {
+                sporeGrowth.decayTick(state, world, pos, random, this);
+            }
+        }
+    }
+
+    // Number of tracked blocks to pass over before the next pick. Skip counts are geometrically
+    // distributed, which picks each block with the same chance as rolling for every block.
+    private int nextSkipCount() {
+        double skip = Math.floor(Math.log(1.0 - random.nextDouble()) / logMissChance);
+        return (int) Math.min(skip, Integer.MAX_VALUE);
+    }
+
+    public int getDecayChance() {
+        return decayChance;
+    }
+
+    // Equivalent to World#hasRain for the block above, but using the heightmap in place of sky
+    // light. Only blocks at the top of their column can be rained on, and the biome and rainline
+    // lookups are shared by the whole column.
+    public boolean isRainedOn(BlockPos pos) {
+        int surfaceY = chunk.sampleHeightmap(Heightmap.Type.MOTION_BLOCKING, pos.getX(),
+                pos.getZ());
+        if (pos.getY() < surfaceY) {
+            return false;
+        }
+        int index = (pos.getX() & 15) | ((pos.getZ() & 15) << 4);
+        if (columns[index] == COLUMN_UNKNOWN) {
+            boolean isRainedOn = this.isColumnRainedOn(pos.getX(), surfaceY + 1, pos.getZ());
+            columns[index] = isRainedOn ? COLUMN_RAINED_ON : COLUMN_DRY;
+        }
+        return columns[index] == COLUMN_RAINED_ON;
+    }
+
+    private boolean isColumnRainedOn(int x, int topY, int z) {
+        BlockPos topPos = new BlockPos(x, topY, z);
+        if (isRaining) {
+            Precipitation precipitation = world.getBiome(topPos)
+                    .value()
+                    .getPrecipitation(topPos, world.getSeaLevel());
+            if (precipitation != Precipitation.NONE) {
+                return precipitation == Precipitation.RAIN;
+            }
+        }
+        return RainlineSpawner.shouldRainlineAffectBlocks(world, Vec3d.ofCenter(topPos));
+    }
+}
@@ -47,6 +47,7 @@ public final class ModCommands {
         SporeCommand.register(dispatcher);
         WorldhopCommand.register(dispatcher);
         ResetOriginCommand.register(dispatcher);
+        SchedulerCommand.register(dispatcher);
     }
 
     private ModCommands() {}
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.command;
+
+import static net.minecraft.server.command.CommandManager.literal;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import io.github.drakonkinst.worldsinger.cosmere.ReactionScheduler;
+import io.github.drakonkinst.worldsinger.entity.spore_growth.SporeGrowthScheduler;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+
+// Reports how much deferred work each scheduler is holding in the current world. The result of
+// each query is the count itself, so it can be tracked with /execute store.
+public class SchedulerCommand {
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(literal("scheduler").requires(
+                        source -> source.hasPermissionLevel(ModCommands.PERMISSION_LEVEL_GAMEMASTER))
+                .then(literal("reactions").executes(SchedulerCommand::queryReactions))
+                .then(literal("spore_growths").executes(SchedulerCommand::querySporeGrowths)));
+    }
+
+    private static int queryReactions(CommandContext<ServerCommandSource> context) {
+        ReactionScheduler scheduler = ReactionScheduler.get(context.getSource().getWorld());
+        int queueSize = scheduler.getQueueSize();
+        context.getSource()
+                .sendMessage(Text.translatable("commands.scheduler.reactions.query", queueSize,
+                        scheduler.getNumWaitingForChunk()));
+        return queueSize;
+    }
+
+    private static int querySporeGrowths(CommandContext<ServerCommandSource> context) {
+        ServerWorld world = context.getSource().getWorld();
+        int growthCount = SporeGrowthScheduler.get(world).getGrowthCount();
+        context.getSource()
+                .sendMessage(
+                        Text.translatable("commands.scheduler.spore_growths.query", growthCount));
+        return growthCount;
+    }
+}
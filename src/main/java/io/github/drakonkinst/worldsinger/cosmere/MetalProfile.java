@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.cosmere;
+
+import io.github.drakonkinst.datatables.DataTable;
+import net.minecraft.entity.Entity;
+
+// Caches the iron and steel content of a single entity. It is recomputed after the entity's
+// equipment or active item changes, or after data packs are reloaded.
+public class MetalProfile {
+
+    private int ironContent;
+    private int steelContent;
+    private int dataVersion;
+    private boolean isValid = false;
+
+    public void update(Entity entity, DataTable entityDataTable, DataTable armorDataTable,
+            int currentDataVersion) {
+        if (isValid && dataVersion == currentDataVersion) {
+            return;
+        }
+        ironContent = MetalQueryManager.getIronContentForEntity(entity, entityDataTable,
+                armorDataTable);
+        steelContent = MetalQueryManager.getSteelContentForEntity(entity, entityDataTable,
+                armorDataTable);
+        dataVersion = currentDataVersion;
+        isValid = true;
+    }
+
+    public void invalidate() {
+        isValid = false;
+    }
+
+    public int getIronContent() {
+        return ironContent;
+    }
+
+    public int getSteelContent() {
+        return steelContent;
+    }
+}
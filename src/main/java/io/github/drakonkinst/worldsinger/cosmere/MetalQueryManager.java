@@ -37,6 +37,22 @@ public final class MetalQueryManager {
     private static final int HELD_ITEM_METAL_VALUE = 10;
     private static final int USING_SHIELD_BONUS = 10;
 
+    // Incremented when tags and data tables may have changed, which invalidates all metal profiles
+    private static int dataVersion = 0;
+
+    public static void onDataReloaded() {
+        ++dataVersion;
+    }
+
+    // Returns the cached iron and steel content for the entity. Only valid on the server, where
+    // equipment changes are tracked.
+    public static MetalProfile getMetalProfile(Entity entity, DataTable entityDataTable,
+            DataTable armorDataTable) {
+        MetalProfile profile = ((MetalProfileHolder) entity).worldsinger$getMetalProfile();
+        profile.update(entity, entityDataTable, armorDataTable, dataVersion);
+        return profile;
+    }
+
     public static int getIronContentForEntity(Entity entity, DataTable entityDataTable,
             DataTable armorDataTable) {
         return MetalQueryManager.getMetalContentForEntity(entity, Metals.IRON, entityDataTable,
@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.cosmere;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import io.github.drakonkinst.worldsinger.entity.attachments.ModAttachmentTypes;
+import io.github.drakonkinst.worldsinger.registry.ModGameRules;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+// Spreads water reactions across ticks. Reactions run immediately while the world is under its
+// per-tick time budget, which covers nearly all cases. Once the budget is spent, further reactions
+// are queued in order and run at the end of later ticks, so flooding a spore sea causes a delayed
+// chain reaction instead of a lag spike.
+// The water for a queued reaction has already been absorbed, so the queue is saved with the world,
+// and reactions in unloaded chunks wait for their chunk to load again instead of loading it.
+@SuppressWarnings("UnstableApiUsage")
+public class ReactionScheduler {
+
+    public static final Codec<ReactionScheduler> CODEC = Reaction.CODEC.listOf()
+            .xmap(ReactionScheduler::new, ReactionScheduler::getPendingReactions);
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final String KEY_POS = "pos";
+    private static final String KEY_WATER_AMOUNT = "water_amount";
+
+    public static ReactionScheduler get(World world) {
+        return world.getAttachedOrCreate(ModAttachmentTypes.REACTION_SCHEDULER);
+    }
+
+    // Only the position is kept, since the reactive is looked up again when the reaction runs
+    private record Reaction(BlockPos pos, int waterAmount) {
+
+        private static final Codec<Reaction> CODEC = RecordCodecBuilder.create(
+                instance -> instance.group(BlockPos.CODEC.fieldOf(KEY_POS).forGetter(Reaction::pos),
+                                Codec.INT.fieldOf(KEY_WATER_AMOUNT).forGetter(Reaction::waterAmount))
+                        .apply(instance, Reaction::new));
+    }
+
+    private final Queue<Reaction> queue = new ArrayDeque<>();
+    private final Long2ObjectMap<List<Reaction>> waitingForChunk = new Long2ObjectOpenHashMap<>();
+    private int numWaiting = 0;
+    private long nanosUsedThisTick = 0L;
+    private long lastTickTime = Long.MIN_VALUE;
+    private int reactionDepth = 0;
+
+    public ReactionScheduler() {}
+
+    private ReactionScheduler(List<Reaction> pendingReactions) {
+        queue.addAll(pendingReactions);
+    }
+
+    public void submit(ServerWorld world, BlockPos pos, WaterReactive reactive, int waterAmount) {
+        long time = world.getTime();
+        if (time != lastTickTime) {
+            lastTickTime = time;
+            nanosUsedThisTick = 0L;
+        }
+        // Queued reactions must stay in order, so nothing can skip ahead of them
+        if (queue.isEmpty() && nanosUsedThisTick < getBudgetNanos(world)) {
+            long startTime = System.nanoTime();
+            ++reactionDepth;
+            reactive.reactToWater(world, pos, waterAmount);
+            --reactionDepth;
+            // Reactions can trigger more reactions inside them, which are already part of the
+            // outermost reaction's time
+            if (reactionDepth == 0) {
+                nanosUsedThisTick += System.nanoTime() - startTime;
+            }
+        } else {
+            queue.add(new Reaction(pos.toImmutable(), waterAmount));
+        }
+    }
+
+    public void serverTick(ServerWorld world) {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        long budgetNanos = getBudgetNanos(world);
+        long startTime = System.nanoTime();
+        // Reactions submitted during this tick have already used up part of the budget
+        long usedNanos = world.getTime() == lastTickTime ? nanosUsedThisTick : 0L;
+        // Always run at least one reaction so the queue cannot stall
+        boolean hasReacted = false;
+        while (!queue.isEmpty() && (!hasReacted
+                || usedNanos + (System.nanoTime() - startTime) < budgetNanos)) {
+            Reaction reaction = queue.poll();
+            BlockPos pos = reaction.pos();
+            ChunkPos chunkPos = new ChunkPos(pos);
+            if (!world.isChunkLoaded(chunkPos.x, chunkPos.z)) {
+                waitingForChunk.computeIfAbsent(chunkPos.toLong(), key -> new ArrayList<>())
+                        .add(reaction);
+                ++numWaiting;
+                continue;
+            }
+            // The reactive block may have been removed or changed since it was queued
+            WaterReactive reactive = WaterReactionManager.getIfWaterReactive(pos,
+                    world.getBlockState(pos));
+            if (reactive != null) {
+                reactive.reactToWater(world, pos, reaction.waterAmount());
+            }
+            hasReacted = true;
+        }
+    }
+
+    // Reactions waiting on this chunk go to the back of the queue
+    public void onChunkLoaded(ChunkPos chunkPos) {
+        List<Reaction> reactions = waitingForChunk.remove(chunkPos.toLong());
+        if (reactions != null) {
+            queue.addAll(reactions);
+            numWaiting -= reactions.size();
+        }
+    }
+
+    // Includes reactions waiting for their chunk to load
+    public int getQueueSize() {
+        return queue.size() + numWaiting;
+    }
+
+    public int getNumWaitingForChunk() {
+        return numWaiting;
+    }
+
+    private List<Reaction> getPendingReactions() {
+        List<Reaction> pendingReactions = new ArrayList<>(this.getQueueSize());
+        pendingReactions.addAll(queue);
+        for (List<Reaction> reactions : waitingForChunk.values()) {
+            pendingReactions.addAll(reactions);
+        }
+        return pendingReactions;
+    }
+
+    private long getBudgetNanos(ServerWorld world) {
+        return world.getGameRules().getInt(ModGameRules.REACTION_BUDGET_MILLIS) * NANOS_PER_MILLI;
+    }
+}
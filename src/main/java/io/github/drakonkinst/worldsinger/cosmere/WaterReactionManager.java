@@ -26,16 +26,11 @@ package io.github.drakonkinst.worldsinger.cosmere;
 import io.github.drakonkinst.worldsinger.block.WaterReactiveBlock;
 import io.github.drakonkinst.worldsinger.cosmere.WaterReactive.Type;
 import io.github.drakonkinst.worldsinger.fluid.WaterReactiveFluid;
-import io.github.drakonkinst.worldsinger.util.ModConstants;
+import io.github.drakonkinst.worldsinger.util.FloodFill;
 import it.unimi.dsi.fastutil.Pair;
-import it.unimi.dsi.fastutil.ints.IntObjectPair;
-import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
-import it.unimi.dsi.fastutil.longs.LongSet;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Queue;
 import java.util.Set;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
@@ -45,8 +40,8 @@ import net.minecraft.block.FluidDrainable;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.fluid.FluidState;
 import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
 
@@ -71,51 +66,55 @@ public final class WaterReactionManager {
 
     public static int absorbWaterAndCollectReactives(World world, BlockPos centerPos,
             @Nullable List<Pair<BlockPos, WaterReactive>> reactiveBlocks) {
-        Queue<IntObjectPair<BlockPos>> queue = new ArrayDeque<>();
-        LongSet visited = new LongOpenHashSet();
-        queue.add(IntObjectPair.of(0, centerPos));
+        WaterAbsorber absorber = new WaterAbsorber(world, reactiveBlocks);
+        FloodFill.run(centerPos, MAX_DEPTH, null, absorber);
+        return Math.min(absorber.totalWaterAmount, MAX_WATER_AMOUNT);
+    }
 
-        int numIterations = 0;
-        int totalWaterAmount = 0;
+    private static class WaterAbsorber implements FloodFill.Visitor {
 
-        boolean shouldConsumeWater = true;
-        while (!queue.isEmpty()) {
-            IntObjectPair<BlockPos> next = queue.poll();
-            BlockPos pos = next.right();
-            long posId = pos.asLong();
-            if (!visited.add(posId)) {
-                continue;
-            }
+        private final World world;
+        @Nullable
+        private final List<Pair<BlockPos, WaterReactive>> reactiveBlocks;
+        private int numIterations = 0;
+        private int totalWaterAmount = 0;
+        private boolean shouldConsumeWater = true;
+
+        private WaterAbsorber(World world,
+                @Nullable List<Pair<BlockPos, WaterReactive>> reactiveBlocks) {
+            this.world = world;
+            this.reactiveBlocks = reactiveBlocks;
+        }
 
+        @Override
+        public int visit(BlockPos pos, int depth) {
+            int result = FloodFill.SKIP;
             int waterAmount = WaterReactionManager.absorbWaterAtBlock(world, pos);
             if (waterAmount <= 0) {
-                BlockState blockState = world.getBlockState(pos);
                 if (reactiveBlocks != null) {
                     // Check if water reactive
+                    BlockState blockState = world.getBlockState(pos);
                     WaterReactive reactive = WaterReactionManager.getIfWaterReactive(pos,
                             blockState);
                     if (reactive != null) {
-                        reactiveBlocks.add(Pair.of(pos, reactive));
+                        reactiveBlocks.add(Pair.of(pos.toImmutable(), reactive));
                     }
                 }
             } else if (shouldConsumeWater) {
                 // Absorb water
                 totalWaterAmount += waterAmount;
                 shouldConsumeWater = totalWaterAmount < MAX_WATER_AMOUNT;
-                int depth = next.leftInt();
                 if (depth >= MAX_DEPTH) {
-                    continue;
-                }
-                for (Direction direction : ModConstants.CARDINAL_DIRECTIONS) {
-                    queue.add(IntObjectPair.of(depth + 1, pos.offset(direction)));
+                    // Does not count towards the iteration limit
+                    return FloodFill.SKIP;
                 }
+                result = FloodFill.EXPAND;
             }
             if (++numIterations >= MAX_ITERATIONS) {
-                break;
+                return FloodFill.STOP;
             }
+            return result;
         }
-
-        return Math.min(totalWaterAmount, MAX_WATER_AMOUNT);
     }
 
     private static void doReactions(World world, List<Pair<BlockPos, WaterReactive>> reactiveBlocks,
@@ -124,10 +123,16 @@ public final class WaterReactionManager {
             return;
         }
         int waterAmountPerReactive = totalWaterAmount / reactiveBlocks.size();
+        ReactionScheduler scheduler = world instanceof ServerWorld serverWorld
+                ? ReactionScheduler.get(serverWorld) : null;
         for (Pair<BlockPos, WaterReactive> pair : reactiveBlocks) {
             WaterReactive waterReactive = pair.right();
             BlockPos pos = pair.left();
-            waterReactive.reactToWater(world, pos, waterAmountPerReactive);
+            if (scheduler != null) {
+                scheduler.submit((ServerWorld) world, pos, waterReactive, waterAmountPerReactive);
+            } else {
+                waterReactive.reactToWater(world, pos, waterAmountPerReactive);
+            }
         }
     }
 
@@ -30,25 +30,41 @@ import com.mojang.serialization.codecs.RecordCodecBuilder;
 import io.github.drakonkinst.worldsinger.Worldsinger;
 import io.github.drakonkinst.worldsinger.command.LocateSporeSeaCommand;
 import io.github.drakonkinst.worldsinger.network.packet.LunagreeSyncPayload;
+import io.github.drakonkinst.worldsinger.registry.ModGameRules;
 import io.github.drakonkinst.worldsinger.util.HexCoordUtil;
 import io.github.drakonkinst.worldsinger.util.math.Int2;
 import io.github.drakonkinst.worldsinger.worldgen.biome.ModBiomeKeys;
 import io.github.drakonkinst.worldsinger.worldgen.lumar.LumarChunkGenerator.SporeSeaEntry;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.ints.IntArraySet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.datafixer.DataFixTypes;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Util;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.random.Random;
 import net.minecraft.world.PersistentState;
 import net.minecraft.world.PersistentStateType;
+import org.apache.commons.lang3.ArrayUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 // Manages lunagree placement and rainlines that orbit lunagrees.
 // On Lumar, lunagrees are placed on an approximate hex grid.
@@ -85,10 +101,27 @@ public class LumarLunagreeGenerator extends PersistentState implements LunagreeG
 
     public static final int SEARCH_CHECK_INTERVAL = 64;
 
+    // Players are sampled once a second and cells are pre-generated along their heading for the
+    // next 30 seconds. Anything faster than an ice boat is assumed to be a teleport.
+    private static final int PREFETCH_INTERVAL = 20;
+    private static final int PREFETCH_LOOKAHEAD_TICKS = 30 * 20;
+    private static final float PREFETCH_STEP = CELL_SIZE * 0.25f;
+    private static final double MIN_PREFETCH_SPEED = 0.1;
+    private static final double MAX_PREFETCH_SPEED = 5.0;
+
     private static final IntSet VALID_SPORE_IDS = IntSet.of(VerdantSpores.ID, CrimsonSpores.ID,
             ZephyrSpores.ID, SunlightSpores.ID, RoseiteSpores.ID, MidnightSpores.ID);
 
     private final Long2ObjectMap<LunagreeLocation> lunagreeMap;
+    // Lunagrees that are being generated off-thread. These are never saved, since generation is
+    // deterministic and will simply be requested again
+    private final Long2ObjectMap<CompletableFuture<LunagreeLocation>> pendingLunagrees =
+            new Long2ObjectOpenHashMap<>();
+    private final LongLinkedOpenHashSet prefetchQueue = new LongLinkedOpenHashSet();
+    // Bumped for a cell and all its neighbors whenever a lunagree is added to it. Not saved, since
+    // any lookups cached against it are not saved either
+    private final Long2IntMap cellVersions = new Long2IntOpenHashMap();
+    private Map<UUID, Vec3d> lastPlayerPositions = new HashMap<>();
 
     public LumarLunagreeGenerator() {
         this.lunagreeMap = new Long2ObjectOpenHashMap<>();
@@ -113,14 +146,57 @@ public class LumarLunagreeGenerator extends PersistentState implements LunagreeG
     public LunagreeLocation getLunagreeForKey(ServerWorld world, long key, boolean shouldCreate) {
         LunagreeLocation entry = lunagreeMap.get(key);
         if (entry == null && shouldCreate) {
-            entry = generateLunagreeFor(world, key);
-            lunagreeMap.put(key, entry);
-            this.markDirty();
+            requestLunagreeGeneration(world, key);
         }
         return entry;
     }
 
-    // Triggered when the player loads new chunks. This can also generate new lunagrees.
+    @Override
+    public int collectLunagreesNearKey(ServerWorld world, long centerKey,
+            LunagreeLocation[] results) {
+        int numResults = 0;
+        LunagreeLocation centerLocation = lunagreeMap.get(centerKey);
+        if (centerLocation != null) {
+            results[numResults++] = centerLocation;
+        }
+        for (int i = 0; i < HexCoordUtil.NUM_NEIGHBORS; ++i) {
+            LunagreeLocation location = lunagreeMap.get(HexCoordUtil.getNeighborKey(centerKey, i));
+            if (location != null) {
+                results[numResults++] = location;
+            }
+        }
+        return numResults;
+    }
+
+    @Override
+    public int getVersionNearKey(long centerKey) {
+        return cellVersions.get(centerKey);
+    }
+
+    // Same result as the default implementation, but probes the map directly without allocating
+    @Override
+    public @Nullable LunagreeLocation getNearestLunagree(ServerWorld world, int blockX,
+            int blockZ, int maxDistance) {
+        long centerKey = getKeyForPos(blockX, blockZ);
+        LunagreeLocation nearestLocation = null;
+        int minDistSq = Integer.MAX_VALUE;
+        for (int i = -1; i < HexCoordUtil.NUM_NEIGHBORS; ++i) {
+            long key = i < 0 ? centerKey : HexCoordUtil.getNeighborKey(centerKey, i);
+            LunagreeLocation location = lunagreeMap.get(key);
+            if (location == null) {
+                continue;
+            }
+            int distSq = LunagreeGenerator.getDistSq(location, blockX, blockZ);
+            if (distSq < minDistSq && LunagreeGenerator.isInRange(distSq, maxDistance)) {
+                nearestLocation = location;
+                minDistSq = distSq;
+            }
+        }
+        return nearestLocation;
+    }
+
+    // Triggered when the player loads new chunks. This can also generate new lunagrees, in which
+    // case the player is sent the data again once they are ready.
     @Override
     public void updateLunagreeDataForPlayer(ServerPlayerEntity player) {
         long key = getKeyForPos(player.getBlockX(), player.getBlockZ());
@@ -129,6 +205,114 @@ public class LumarLunagreeGenerator extends PersistentState implements LunagreeG
         ServerPlayNetworking.send(player, new LunagreeSyncPayload(locations));
     }
 
+    @Override
+    public void serverTick(ServerWorld world) {
+        if (world.getTime() % PREFETCH_INTERVAL == 0) {
+            queuePredictedLunagrees(world);
+        }
+        int budget = world.getGameRules().getInt(ModGameRules.LUNAGREE_PREFETCH_BUDGET);
+        while (budget > 0 && !prefetchQueue.isEmpty()) {
+            long key = prefetchQueue.removeFirstLong();
+            if (lunagreeMap.containsKey(key) || pendingLunagrees.containsKey(key)) {
+                continue;
+            }
+            requestLunagreeGeneration(world, key);
+            --budget;
+        }
+    }
+
+    // Queue up the cells each player will reach soon, so that crossing into a cell only ever
+    // reads lunagrees that are already generated
+    private void queuePredictedLunagrees(ServerWorld world) {
+        Map<UUID, Vec3d> playerPositions = new HashMap<>();
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            // Use the root vehicle so that boats are tracked by where they are going
+            Vec3d pos = player.getRootVehicle().getPos();
+            playerPositions.put(player.getUuid(), pos);
+            Vec3d lastPos = lastPlayerPositions.get(player.getUuid());
+            if (lastPos == null) {
+                continue;
+            }
+
+            double velocityX = (pos.getX() - lastPos.getX()) / PREFETCH_INTERVAL;
+            double velocityZ = (pos.getZ() - lastPos.getZ()) / PREFETCH_INTERVAL;
+            double speed = Math.sqrt(velocityX * velocityX + velocityZ * velocityZ);
+            if (speed < MIN_PREFETCH_SPEED || speed > MAX_PREFETCH_SPEED) {
+                continue;
+            }
+
+            double dirX = velocityX / speed;
+            double dirZ = velocityZ / speed;
+            double lookaheadDistance = speed * PREFETCH_LOOKAHEAD_TICKS;
+            int numSteps = MathHelper.ceil(lookaheadDistance / PREFETCH_STEP);
+            long lastKey = getKeyForPos(player.getBlockX(), player.getBlockZ());
+            for (int i = 1; i <= numSteps; ++i) {
+                double distance = Math.min(i * PREFETCH_STEP, lookaheadDistance);
+                int blockX = MathHelper.floor(pos.getX() + dirX * distance);
+                int blockZ = MathHelper.floor(pos.getZ() + dirZ * distance);
+                long key = getKeyForPos(blockX, blockZ);
+                if (key == lastKey) {
+                    continue;
+                }
+                lastKey = key;
+                queueLunagreePrefetch(key);
+                for (long neighborKey : getNeighborKeys(key)) {
+                    queueLunagreePrefetch(neighborKey);
+                }
+            }
+        }
+        lastPlayerPositions = playerPositions;
+    }
+
+    private void queueLunagreePrefetch(long key) {
+        if (!lunagreeMap.containsKey(key) && !pendingLunagrees.containsKey(key)) {
+            prefetchQueue.add(key);
+        }
+    }
+
+    // Searching for a spore sea is too slow to do on the server thread, but only depends on the
+    // seed, so it is safe to run on a worker
+    private void requestLunagreeGeneration(ServerWorld world, long key) {
+        if (pendingLunagrees.containsKey(key)) {
+            return;
+        }
+        Random random = Random.create(HashCommon.mix(world.getSeed() ^ key));
+        CompletableFuture<LunagreeLocation> future = CompletableFuture.supplyAsync(
+                () -> generateLunagreeFor(world, key, random),
+                Util.getMainWorkerExecutor().named("worldsinger_lunagree"));
+        pendingLunagrees.put(key, future);
+        future.whenCompleteAsync(
+                (entry, throwable) -> onLunagreeGenerated(world, key, entry, throwable),
+                world.getServer());
+    }
+
+    private void onLunagreeGenerated(ServerWorld world, long key, LunagreeLocation entry,
+            Throwable throwable) {
+        pendingLunagrees.remove(key);
+        if (throwable != null) {
+            Worldsinger.LOGGER.error("Failed to generate lunagree for {}",
+                    HexCoordUtil.cellToString(HexCoordUtil.getQ(key), HexCoordUtil.getR(key)),
+                    throwable);
+            return;
+        }
+        lunagreeMap.put(key, entry);
+        cellVersions.addTo(key, 1);
+        for (int i = 0; i < HexCoordUtil.NUM_NEIGHBORS; ++i) {
+            cellVersions.addTo(HexCoordUtil.getNeighborKey(key, i), 1);
+        }
+        this.markDirty();
+
+        // Resend data to players that could see this lunagree
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            long playerKey = getKeyForPos(player.getBlockX(), player.getBlockZ());
+            if (playerKey == key || ArrayUtils.contains(getNeighborKeys(playerKey), key)) {
+                List<LunagreeLocation> locations = getNeighboringLunagrees(world, playerKey, true,
+                        false);
+                ServerPlayNetworking.send(player, new LunagreeSyncPayload(locations));
+            }
+        }
+    }
+
     private IntSet generatePossibleSporeIds(int q, int r) {
         IntSet possibleSporeIds = new IntArraySet(VALID_SPORE_IDS);
         // Remove spore IDs that are already nearby. Removing this in order to make generation
@@ -149,7 +333,7 @@ public class LumarLunagreeGenerator extends PersistentState implements LunagreeG
     }
 
     @NotNull
-    private LunagreeLocation generateLunagreeFor(ServerWorld world, long key) {
+    private LunagreeLocation generateLunagreeFor(ServerWorld world, long key, Random random) {
         int q = HexCoordUtil.getQ(key);
         int r = HexCoordUtil.getR(key);
 
@@ -179,8 +363,12 @@ public class LumarLunagreeGenerator extends PersistentState implements LunagreeG
 
         // Generate the result
         List<Int2> rainlineNodes = RainlinePath.generateRainlineNodes(lunagreeX, lunagreeZ,
-                world.getRandom());
-        LunagreeLocation entry = new LunagreeLocation(lunagreeX, lunagreeZ, sporeId, rainlineNodes);
+                random);
+        // Whole steps are at the same positions whether or not the path is baked
+        BitSet rainlineSeaSteps = new RainlinePath(rainlineNodes).getRainlineSeaSteps(
+                world.getChunkManager().getNoiseConfig());
+        LunagreeLocation entry = new LunagreeLocation(lunagreeX, lunagreeZ, sporeId, rainlineNodes,
+                rainlineSeaSteps);
         Worldsinger.LOGGER.info("Generated lunagree of spore ID {} for {} with rainline nodes: {}",
                 sporeId, HexCoordUtil.cellToString(q, r), entry.rainlineNodes().toString());
         return entry;
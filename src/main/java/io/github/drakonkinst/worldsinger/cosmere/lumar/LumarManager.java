@@ -121,6 +121,7 @@ public class LumarManager {
 
     public void serverTick(ServerWorld world) {
         // Seethe ticks are handled by weather
+        lunagreeGenerator.serverTick(world);
         rainlineManager.serverTick(world);
     }
 
@@ -38,8 +38,8 @@ import io.github.drakonkinst.worldsinger.worldgen.lumar.LumarChunkGenerator;
 import io.github.drakonkinst.worldsinger.worldgen.lumar.LumarChunkGenerator.SporeSeaEntry;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.longs.LongByteMutablePair;
-import it.unimi.dsi.fastutil.longs.LongBytePair;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -55,16 +55,21 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.TypeFilter;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec2f;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.world.PersistentState;
 import net.minecraft.world.PersistentStateType;
 import org.jetbrains.annotations.Nullable;
+import org.joml.Vector2f;
 
 // Rainlines on Lumar are placed around lunagrees, so it is tightly coupled to lunagree generation
 public class LumarRainlineSpawner extends PersistentState implements RainlineSpawner {
 
     private static final int RAINLINE_UPDATE_INTERVAL = 5 * ModConstants.SECONDS_TO_TICKS;
+    // Extra distance past the view distance before a path-following rainline is despawned, so
+    // that rainlines near the edge do not repeatedly spawn and despawn
+    private static final int RAINLINE_DESPAWN_MARGIN = 32;
 
     // Wandering rainline spawn parameters
     private static final int WANDERING_RAINLINE_UPDATE_INTERVAL = ModConstants.MINUTES_TO_TICKS;
@@ -85,6 +90,9 @@ public class LumarRainlineSpawner extends PersistentState implements RainlineSpa
 
     // This value does not need to be saved
     private final Long2ObjectMap<RainlinePath> rainlinePaths = new Long2ObjectOpenHashMap<>();
+    // Path-following rainlines that currently exist as entities, indexed by path index
+    private final Long2ObjectMap<RainlineEntity[]> spawnedRainlines = new Long2ObjectOpenHashMap<>();
+    private final Vector2f rainlinePos = new Vector2f();
     private int spawnDelay = 0;
 
     public LumarRainlineSpawner() {
@@ -111,10 +119,15 @@ public class LumarRainlineSpawner extends PersistentState implements RainlineSpa
 
         int totalNumAdded = 0;
         RainlinePath centerPath = getOrCreateRainlineData(world, key);
-        totalNumAdded += centerPath.applyMapDecorations(world, decorations, mapState, 1);
+        if (centerPath != null) {
+            totalNumAdded += centerPath.applyMapDecorations(world, decorations, mapState, 1);
+        }
         for (int i = 0; i < neighborKeys.length; ++i) {
             long neighborKey = neighborKeys[i];
             RainlinePath neighborPath = getOrCreateRainlineData(world, neighborKey);
+            if (neighborPath == null) {
+                continue;
+            }
             int numAdded = neighborPath.applyMapDecorations(world, decorations, mapState, i + 2);
             totalNumAdded += numAdded;
         }
@@ -128,90 +141,137 @@ public class LumarRainlineSpawner extends PersistentState implements RainlineSpa
     }
 
     public void doRainlineTick(ServerWorld world) {
-        List<RainlineEntity> rainlineEntities = new ArrayList<>();
-        world.collectEntitiesByType(TypeFilter.instanceOf(RainlineEntity.class),
-                EntityPredicates.VALID_ENTITY, rainlineEntities);
-        // Worldsinger.LOGGER.info("Found " + rainlineEntities.size() + " active rainline entities: "
-        //         + rainlineEntities);
-        doRainlinePathsTick(world, rainlineEntities);
-        doRainlineWanderingTick(world, rainlineEntities);
+        doRainlinePathsTick(world);
+        doRainlineWanderingTick(world);
     }
 
-    private void doRainlinePathsTick(ServerWorld world, List<RainlineEntity> rainlineEntities) {
-        Set<LongBytePair> existingPathIds = removeDuplicateRainlinePaths(rainlineEntities);
+    // Path-following rainline positions are a function of world time, so they are only spawned as
+    // entities while a player could see them
+    private void doRainlinePathsTick(ServerWorld world) {
+        int viewDistance = ChunkSectionPos.getBlockCoord(
+                world.getServer().getPlayerManager().getViewDistance());
+        despawnUnobservedRainlines(world, viewDistance + RAINLINE_DESPAWN_MARGIN);
         Set<LunagreeLocation> lunagreeLocations = getLunagreeLocationsToUpdate(world);
         for (LunagreeLocation location : lunagreeLocations) {
-            spawnRainlinesForLocation(world, location, existingPathIds);
+            spawnRainlinesForLocation(world, location, viewDistance);
+        }
+    }
+
+    private void despawnUnobservedRainlines(ServerWorld world, int maxDistance) {
+        ObjectIterator<Long2ObjectMap.Entry<RainlineEntity[]>> iter = Long2ObjectMaps.fastIterator(
+                spawnedRainlines);
+        while (iter.hasNext()) {
+            RainlineEntity[] entities = iter.next().getValue();
+            boolean anyRemaining = false;
+            for (int i = 0; i < entities.length; ++i) {
+                RainlineEntity entity = entities[i];
+                if (entity == null) {
+                    continue;
+                }
+                if (entity.isRemoved() || !entity.getRainlineBehavior().isFollowingPath()) {
+                    // Rainlines that left their path are no longer managed here
+                    entities[i] = null;
+                } else if (!isObserved(world, entity.getX(), entity.getZ(), maxDistance)) {
+                    entity.discard();
+                    entities[i] = null;
+                } else {
+                    anyRemaining = true;
+                }
+            }
+            if (!anyRemaining) {
+                iter.remove();
+            }
         }
     }
 
     private void spawnRainlinesForLocation(ServerWorld world, LunagreeLocation location,
-            Set<LongBytePair> existingPathIds) {
+            int viewDistance) {
         long locationId = ((LumarManagerAccess) world).worldsinger$getLumarManager()
                 .getLunagreeGenerator()
                 .getKeyForPos(location.blockX(), location.blockZ());
-        RainlinePath path = rainlinePaths.get(locationId);
+        RainlinePath path = getOrCreateRainlineData(world, locationId);
         if (path == null) {
             return;
         }
-        LongBytePair pathId = new LongByteMutablePair(locationId, (byte) -1);
+        RainlineEntity[] entities = spawnedRainlines.get(locationId);
         for (int pathIndex = 0; pathIndex < NUM_RAINLINES_PER_LUNAGREE; ++pathIndex) {
-            pathId.second((byte) pathIndex);
-            ensureRainlineIsSpawned(world, pathId, path, existingPathIds);
+            if (entities != null && entities[pathIndex] != null) {
+                continue;
+            }
+            RainlineEntity entity = spawnRainlineIfObserved(world, path, locationId,
+                    (byte) pathIndex, viewDistance);
+            if (entity == null) {
+                continue;
+            }
+            if (entities == null) {
+                entities = new RainlineEntity[NUM_RAINLINES_PER_LUNAGREE];
+                spawnedRainlines.put(locationId, entities);
+            }
+            entities[pathIndex] = entity;
         }
     }
 
-    private void ensureRainlineIsSpawned(ServerWorld world, LongBytePair pathId, RainlinePath path,
-            Set<LongBytePair> existingPathIds) {
-        // Check if a rainline following that path already exists
-        if (existingPathIds.contains(pathId)) {
-            return;
-        }
-        // Check if position is loaded in the world
-        int stepOffset = path.getStepOffset(pathId.secondByte());
+    @Nullable
+    private RainlineEntity spawnRainlineIfObserved(ServerWorld world, RainlinePath path,
+            long locationId, byte pathIndex, int viewDistance) {
+        int stepOffset = path.getStepOffset(pathIndex);
         if (stepOffset < 0) {
-            return;
+            return null;
         }
-        Vec2f rainlinePos = path.getRainlinePosition(world, stepOffset);
-        if (!isPosLoaded(world, rainlinePos)) {
-            return;
+        path.getRainlinePosition(world, stepOffset, rainlinePos);
+        if (!isObserved(world, rainlinePos.x, rainlinePos.y, viewDistance)) {
+            return null;
+        }
+        // Check if position is loaded in the world
+        int blockX = MathHelper.floor(rainlinePos.x);
+        int blockZ = MathHelper.floor(rainlinePos.y);
+        // noinspection deprecation
+        if (!world.isPosLoaded(blockX, blockZ)) {
+            return null;
         }
         // Ensure that no rainlines are spawned in the Crimson
-        int blockX = (int) rainlinePos.x;
-        int blockZ = (int) rainlinePos.y;
         SporeSeaEntry sporeSeaEntry = LumarChunkGenerator.getSporeSeaEntryAtPos(
                 world.getChunkManager().getNoiseConfig(), blockX, blockZ);
         if (!AetherSpores.hasRainlinePathsInSea(sporeSeaEntry.id())) {
-            return;
+            return null;
         }
 
-        boolean success = spawnRainlineFollowingPath(world, rainlinePos, path, pathId.firstLong(),
-                pathId.secondByte());
-        if (success) {
-            Worldsinger.LOGGER.info("Spawning rainline at ({}, {})", blockX, blockZ);
+        RainlineEntity entity = spawnRainlineFollowingPath(world, rainlinePos, path, locationId,
+                pathIndex);
+        if (entity != null) {
+            Worldsinger.LOGGER.debug("Spawning rainline at ({}, {})", blockX, blockZ);
         } else {
-            Worldsinger.LOGGER.warn("Failed to spawn rainline at ({}, {})", blockX, blockZ);
+            Worldsinger.LOGGER.debug("Failed to spawn rainline at ({}, {})", blockX, blockZ);
         }
+        return entity;
     }
 
-    private boolean isPosLoaded(ServerWorld world, Vec2f pos) {
-        // noinspection deprecation
-        return world.isPosLoaded((int) pos.x, (int) pos.y);
+    private boolean isObserved(ServerWorld world, double x, double z, int maxDistance) {
+        double maxDistanceSq = (double) maxDistance * maxDistance;
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            double deltaX = player.getX() - x;
+            double deltaZ = player.getZ() - z;
+            if (deltaX * deltaX + deltaZ * deltaZ <= maxDistanceSq) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private boolean spawnRainlineFollowingPath(ServerWorld world, Vec2f pos, RainlinePath path,
-            long locationId, byte index) {
+    @Nullable
+    private RainlineEntity spawnRainlineFollowingPath(ServerWorld world, Vector2f pos,
+            RainlinePath path, long locationId, byte index) {
         RainlineBehavior behavior = new RainlineFollowPathBehavior(path, locationId, index);
         RainlineEntity rainlineEntity = ModEntityTypes.RAINLINE.create(world, SpawnReason.NATURAL);
         if (rainlineEntity == null) {
-            return false;
+            return null;
         }
         rainlineEntity.setPosition(pos.x, RainlineEntity.getTargetHeight(world), pos.y);
         rainlineEntity.setRainlineBehavior(behavior);
-        return world.spawnEntity(rainlineEntity);
+        return world.spawnEntity(rainlineEntity) ? rainlineEntity : null;
     }
 
-    private void doRainlineWanderingTick(ServerWorld world, List<RainlineEntity> rainlineEntities) {
+    private void doRainlineWanderingTick(ServerWorld world) {
         if (world.getTime() % WANDERING_RAINLINE_UPDATE_INTERVAL != 0) {
             return;
         }
@@ -222,13 +282,12 @@ public class LumarRainlineSpawner extends PersistentState implements RainlineSpa
         }
         spawnDelay -= WANDERING_RAINLINE_SPAWN_INTERVAL;
         // Worldsinger.LOGGER.info("Attempting to spawn wandering rainline");
-        if (!attemptSpawnWanderingRainline(world, rainlineEntities)) {
+        if (!attemptSpawnWanderingRainline(world)) {
             spawnDelay += WANDERING_RAINLINE_SPAWN_FAIL_BONUS;
         }
     }
 
-    private boolean attemptSpawnWanderingRainline(ServerWorld world,
-            List<RainlineEntity> rainlineEntities) {
+    private boolean attemptSpawnWanderingRainline(ServerWorld world) {
         int numPlayers = world.getPlayers().size();
         if (numPlayers == 0) {
             return false;
@@ -239,6 +298,9 @@ public class LumarRainlineSpawner extends PersistentState implements RainlineSpa
         int spawnX = playerPos.getX() + getRandomSpawnOffset(random);
         int spawnZ = playerPos.getZ() + getRandomSpawnOffset(random);
         // Ensure it is not too close to any existing rainline
+        List<RainlineEntity> rainlineEntities = new ArrayList<>();
+        world.collectEntitiesByType(TypeFilter.instanceOf(RainlineEntity.class),
+                EntityPredicates.VALID_ENTITY, rainlineEntities);
         for (RainlineEntity rainlineEntity : rainlineEntities) {
             double deltaX = rainlineEntity.getX() - spawnX;
             double deltaZ = rainlineEntity.getZ() - spawnZ;
@@ -273,20 +335,6 @@ public class LumarRainlineSpawner extends PersistentState implements RainlineSpa
                 random.nextBoolean() ? -1 : 1);
     }
 
-    private Set<LongBytePair> removeDuplicateRainlinePaths(List<RainlineEntity> rainlineEntities) {
-        Set<LongBytePair> existingPathIds = new HashSet<>();
-        List<RainlineEntity> rainlineEntitiesToRemove = new ArrayList<>();
-        for (RainlineEntity entity : rainlineEntities) {
-            if (entity.getRainlineBehavior() instanceof RainlineFollowPathBehavior followPathBehavior) {
-                if (!existingPathIds.add(followPathBehavior.getPathId())) {
-                    rainlineEntitiesToRemove.add(entity);
-                }
-            }
-        }
-        rainlineEntities.removeAll(rainlineEntitiesToRemove);
-        return existingPathIds;
-    }
-
     private Set<LunagreeLocation> getLunagreeLocationsToUpdate(ServerWorld world) {
         Set<LunagreeLocation> lunagreeLocations = new HashSet<>();
         for (ServerPlayerEntity player : world.getPlayers()) {
@@ -298,13 +346,18 @@ public class LumarRainlineSpawner extends PersistentState implements RainlineSpa
         return lunagreeLocations;
     }
 
+    // Returns null if the lunagree is still being generated
+    @Nullable
     private RainlinePath getOrCreateRainlineData(ServerWorld world, long key) {
         RainlinePath entry = rainlinePaths.get(key);
         if (entry == null) {
             LunagreeLocation lunagreeLocation = ((LumarManagerAccess) world).worldsinger$getLumarManager()
                     .getLunagreeGenerator()
                     .getLunagreeForKey(world, key, true);
-            entry = new RainlinePath(lunagreeLocation.rainlineNodes());
+            if (lunagreeLocation == null) {
+                return null;
+            }
+            entry = new RainlinePath(lunagreeLocation.rainlineNodes(), true);
             rainlinePaths.put(key, entry);
         }
         return entry;
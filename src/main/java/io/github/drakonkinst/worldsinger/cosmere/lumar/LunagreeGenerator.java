@@ -43,12 +43,14 @@ public interface LunagreeGenerator {
     long[] getNeighborKeys(long centerKey);
 
     // Each lunagree contains a LunagreeLocation entry for a key, or null if it cannot be
-    // created or does not exist.
+    // created, does not exist, or is still being generated.
     LunagreeLocation getLunagreeForKey(ServerWorld world, long key, boolean shouldCreate);
 
     // Called when a player's key changes
     void updateLunagreeDataForPlayer(ServerPlayerEntity player);
 
+    void serverTick(ServerWorld world);
+
     // Helper method to grab the list of lunagrees at and/or around a key.
     default List<LunagreeLocation> getNeighboringLunagrees(ServerWorld world, long centerKey,
             boolean includeCenter, boolean shouldCreate) {
@@ -77,20 +79,42 @@ public interface LunagreeGenerator {
         return getNeighboringLunagrees(world, key, true, false);
     }
 
+    // Fills the array with the existing lunagrees at and around a key, returning how many were
+    // found. The array must have room for the center and all of its neighbors.
+    default int collectLunagreesNearKey(ServerWorld world, long centerKey,
+            LunagreeLocation[] results) {
+        List<LunagreeLocation> locations = getNeighboringLunagrees(world, centerKey, true, false);
+        for (int i = 0; i < locations.size(); ++i) {
+            results[i] = locations.get(i);
+        }
+        return locations.size();
+    }
+
+    // Changes whenever a lunagree is added at or around the key, so callers can tell when their
+    // cached lookups for that cell are stale
+    default int getVersionNearKey(long centerKey) {
+        return 0;
+    }
+
     // Helper method to get the nearest lunagree, or null if it does not exist.
     // This will typically be the same lunagree as the current position, but not necessarily.
     @Nullable
     default LunagreeLocation getNearestLunagree(ServerWorld world, int blockX, int blockZ,
             int maxDistance) {
         List<LunagreeLocation> candidates = getLunagreesNearPos(world, blockX, blockZ);
+        return LunagreeGenerator.findNearestLunagree(candidates, blockX, blockZ, maxDistance);
+    }
+
+    // Picks the nearest lunagree out of a list of candidates, or null if none are in range.
+    @Nullable
+    static LunagreeLocation findNearestLunagree(List<LunagreeLocation> candidates, int blockX,
+            int blockZ, int maxDistance) {
         LunagreeLocation nearestLocation = null;
         int minDistSq = Integer.MAX_VALUE;
-        for (LunagreeLocation location : candidates) {
-            int deltaX = blockX - location.blockX();
-            int deltaZ = blockZ - location.blockZ();
-            int distSq = deltaX * deltaX + deltaZ * deltaZ;
-            if (distSq < minDistSq && (maxDistance == Integer.MAX_VALUE
-                    || distSq < maxDistance * maxDistance)) {
+        for (int i = 0; i < candidates.size(); ++i) {
+            LunagreeLocation location = candidates.get(i);
+            int distSq = LunagreeGenerator.getDistSq(location, blockX, blockZ);
+            if (distSq < minDistSq && LunagreeGenerator.isInRange(distSq, maxDistance)) {
                 nearestLocation = location;
                 minDistSq = distSq;
             }
@@ -98,6 +122,16 @@ public interface LunagreeGenerator {
         return nearestLocation;
     }
 
+    static int getDistSq(LunagreeLocation location, int blockX, int blockZ) {
+        int deltaX = blockX - location.blockX();
+        int deltaZ = blockZ - location.blockZ();
+        return deltaX * deltaX + deltaZ * deltaZ;
+    }
+
+    static boolean isInRange(int distSq, int maxDistance) {
+        return maxDistance == Integer.MAX_VALUE || distSq < maxDistance * maxDistance;
+    }
+
     default boolean isNull() {
         return false;
     }
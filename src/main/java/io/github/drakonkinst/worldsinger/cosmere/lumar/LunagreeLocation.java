@@ -27,14 +27,27 @@ package io.github.drakonkinst.worldsinger.cosmere.lumar;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import io.github.drakonkinst.worldsinger.util.math.Int2;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.LongStream;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.network.codec.PacketCodec;
 import net.minecraft.network.codec.PacketCodecs;
 import net.minecraft.util.dynamic.Codecs;
 
-public record LunagreeLocation(int blockX, int blockZ, int sporeId, List<Int2> rainlineNodes) {
+// Rainline sea steps hold whether the rainline path is in a spore sea that allows rainlines at
+// each whole step, since the client cannot sample spore seas itself. Empty if unknown, such as for
+// lunagrees saved before it was added. Never modified after creation.
+public record LunagreeLocation(int blockX, int blockZ, int sporeId, List<Int2> rainlineNodes,
+                               BitSet rainlineSeaSteps) {
+
+    private static final Codec<BitSet> BIT_SET_CODEC = Codec.LONG_STREAM.xmap(
+            stream -> BitSet.valueOf(stream.toArray()),
+            bitSet -> LongStream.of(bitSet.toLongArray()));
+    private static final PacketCodec<PacketByteBuf, BitSet> BIT_SET_PACKET_CODEC = PacketCodec.of(
+            (bitSet, buf) -> buf.writeBitSet(bitSet), PacketByteBuf::readBitSet);
 
     public static final Codec<LunagreeLocation> CODEC = RecordCodecBuilder.create(
             instance -> instance.group(
@@ -43,13 +56,15 @@ public record LunagreeLocation(int blockX, int blockZ, int sporeId, List<Int2> r
                             Codecs.NON_NEGATIVE_INT.fieldOf("spore_id")
                                     .forGetter(LunagreeLocation::sporeId), Int2.CODEC.listOf()
                                     .optionalFieldOf("rainline_path", Collections.emptyList())
-                                    .forGetter(LunagreeLocation::rainlineNodes))
+                                    .forGetter(LunagreeLocation::rainlineNodes),
+                            BIT_SET_CODEC.optionalFieldOf("rainline_sea_steps", new BitSet())
+                                    .forGetter(LunagreeLocation::rainlineSeaSteps))
                     .apply(instance, LunagreeLocation::new));
     public static final PacketCodec<RegistryByteBuf, LunagreeLocation> PACKET_CODEC = PacketCodec.tuple(
             PacketCodecs.VAR_INT, LunagreeLocation::blockX, PacketCodecs.VAR_INT,
             LunagreeLocation::blockZ, PacketCodecs.VAR_INT, LunagreeLocation::sporeId,
             Int2.PACKET_CODEC.collect(PacketCodecs.toList()), LunagreeLocation::rainlineNodes,
-            LunagreeLocation::new);
+            BIT_SET_PACKET_CODEC, LunagreeLocation::rainlineSeaSteps, LunagreeLocation::new);
 
     public double distSqTo(double x, double z) {
         final double deltaX = blockX - x;
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.drakonkinst.worldsinger.cosmere.lumar;
+
+import io.github.drakonkinst.worldsinger.util.HexCoordUtil;
+import net.minecraft.server.world.ServerWorld;
+import org.jetbrains.annotations.Nullable;
+
+// Allocation-free nearest lunagree lookup. Each caller should keep its own instance, which
+// remembers the lunagrees around the last cell it was asked about until the cell changes or a
+// lunagree is added around it.
+public class NearestLunagreeQuery {
+
+    private final LunagreeLocation[] candidates = new LunagreeLocation[
+            HexCoordUtil.NUM_NEIGHBORS + 1];
+    private int numCandidates = 0;
+    @Nullable
+    private LunagreeGenerator generator;
+    private long cellKey;
+    private int generatorVersion;
+
+    @Nullable
+    public LunagreeLocation find(ServerWorld world, LunagreeGenerator generator, int blockX,
+            int blockZ, int maxDistance) {
+        long currentCellKey = generator.getKeyForPos(blockX, blockZ);
+        int currentVersion = generator.getVersionNearKey(currentCellKey);
+        if (generator != this.generator || currentCellKey != cellKey
+                || currentVersion != generatorVersion) {
+            numCandidates = generator.collectLunagreesNearKey(world, currentCellKey, candidates);
+            this.generator = generator;
+            cellKey = currentCellKey;
+            generatorVersion = currentVersion;
+        }
+
+        LunagreeLocation nearestLocation = null;
+        int minDistSq = Integer.MAX_VALUE;
+        for (int i = 0; i < numCandidates; ++i) {
+            LunagreeLocation location = candidates[i];
+            int distSq = LunagreeGenerator.getDistSq(location, blockX, blockZ);
+            if (distSq < minDistSq && LunagreeGenerator.isInRange(distSq, maxDistance)) {
+                nearestLocation = location;
+                minDistSq = distSq;
+            }
+        }
+        return nearestLocation;
+    }
+}
@@ -49,6 +49,11 @@ public class NullLunagreeGenerator implements LunagreeGenerator {
         // Do nothing
     }
 
+    @Override
+    public void serverTick(ServerWorld world) {
+        // Do nothing
+    }
+
     @Override
     public boolean isNull() {
         return true;
@@ -27,7 +27,10 @@ package io.github.drakonkinst.worldsinger.cosmere.lumar;
 import io.github.drakonkinst.worldsinger.registry.ModMapDecorationTypes;
 import io.github.drakonkinst.worldsinger.util.math.Int2;
 import io.github.drakonkinst.worldsinger.worldgen.lumar.LumarChunkGenerator;
+import io.github.drakonkinst.worldsinger.worldgen.lumar.LumarChunkGenerator.SporeSeaEntry;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -37,7 +40,10 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec2f;
 import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
 import net.minecraft.world.gen.noise.NoiseConfig;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Vector2f;
 
 public class RainlinePath {
 
@@ -57,32 +63,37 @@ public class RainlinePath {
     private static final int TICKS_PER_STEP = 20;
     private static final float STEPS_PER_TICK = 1.0f / TICKS_PER_STEP;
 
-    private static int nextIconId = 0;
+    // Maximum number of maps to keep rainline icons for, per path
+    private static final int MAX_CACHED_MAP_LAYERS = 32;
 
-    private record Spline(float ax, float ay, float bx, float by, float cx, float cy, float dx,
-                          float dy, float length) {
+    // Package-private, along with the lookups below, so that tests can compare them against
+    // reference implementations
+    record Spline(float ax, float ay, float bx, float by, float cx, float cy, float dx,
+                  float dy, float length) {
 
         private static float apply(float a, float b, float c, float d, float t) {
             final float t2 = t * t;
             return a * t2 * t + b * t2 + c * t + d;
         }
 
-        private static float calculateApproxLength(float ax, float ay, float bx, float by, float cx,
+        // Sums the distances between sample points, wrapping around from the last point to the
+        // first one. Rainline speeds are tuned around this value, so keep it as-is.
+        static float calculateApproxLength(float ax, float ay, float bx, float by, float cx,
                 float cy, float dx, float dy) {
-            Vec2f[] splinePoints = new Vec2f[LENGTH_APPROX_STEPS];
-            for (int i = 0; i < LENGTH_APPROX_STEPS; ++i) {
+            float firstX = Spline.apply(ax, bx, cx, dx, 0.0f);
+            float firstY = Spline.apply(ay, by, cy, dy, 0.0f);
+            float prevX = firstX;
+            float prevY = firstY;
+            float distance = 0.0f;
+            for (int i = 1; i < LENGTH_APPROX_STEPS; ++i) {
                 float t = (float) i / LENGTH_APPROX_STEPS;
                 float x = Spline.apply(ax, bx, cx, dx, t);
                 float y = Spline.apply(ay, by, cy, dy, t);
-                splinePoints[i] = new Vec2f(x, y);
-            }
-
-            float distance = 0.0f;
-            for (int i = 0; i < LENGTH_APPROX_STEPS; ++i) {
-                Vec2f p1 = splinePoints[i];
-                Vec2f p2 = splinePoints[(i + 1) % LENGTH_APPROX_STEPS];
-                distance += MathHelper.sqrt(p1.distanceSquared(p2));
+                distance += RainlinePath.distance(prevX, prevY, x, y);
+                prevX = x;
+                prevY = y;
             }
+            distance += RainlinePath.distance(prevX, prevY, firstX, firstY);
             return distance;
         }
 
@@ -92,12 +103,6 @@ public class RainlinePath {
             return new Spline(ax, ay, bx, by, cx, cy, dx, dy, length);
         }
 
-        public Vec2f apply(float t) {
-            float x = applyX(t);
-            float y = applyY(t);
-            return new Vec2f(x, y);
-        }
-
         public float applyX(float t) {
             return Spline.apply(ax, bx, cx, dx, t);
         }
@@ -107,6 +112,11 @@ public class RainlinePath {
         }
     }
 
+    private record MapLayerKey(int centerX, int centerZ, byte scale, int cellNeighborIndex) {}
+
+    // The rainline icons of this path that appear on a given map
+    private record MapLayer(String[] keys, Decoration[] decorations) {}
+
     // Based on Catmull-Rom Spline implementation in C++:
     // https://qroph.github.io/2018/07/30/smooth-paths-using-catmull-rom-splines.html
     private static Spline generateSpline(Int2 p0, Int2 p1, Int2 p2, Int2 p3) {
@@ -142,24 +152,80 @@ public class RainlinePath {
         return rainlineNodes;
     }
 
+    private static float distance(float x1, float y1, float x2, float y2) {
+        float deltaX = x2 - x1;
+        float deltaY = y2 - y1;
+        return MathHelper.sqrt(deltaX * deltaX + deltaY * deltaY);
+    }
+
     private final Spline[] splines;
+    // Distance along the cycle at the start of each spline, followed by the total length
+    private final float[] cumulativeLengths;
     private final float totalLength;
+    // Position at each whole step of the cycle, as interleaved x and z values. Positions between
+    // steps are linearly interpolated.
+    @Nullable
+    private final float[] bakedPositions;
+    // Position and rotation of each map icon along the path, as interleaved x, z, and rotation
+    @Nullable
+    private float[] mapIconPoints = null;
+    private final Object2ObjectLinkedOpenHashMap<MapLayerKey, MapLayer> mapLayers =
+            new Object2ObjectLinkedOpenHashMap<>();
 
     public RainlinePath(List<Int2> rainlineNodes) {
+        this(rainlineNodes, false);
+    }
+
+    public RainlinePath(List<Int2> rainlineNodes, boolean bakePositions) {
         this.splines = new Spline[RAINLINE_NODE_COUNT];
+        this.cumulativeLengths = new float[RAINLINE_NODE_COUNT + 1];
         this.totalLength = this.generateAllSplines(rainlineNodes);
+        this.bakedPositions = bakePositions ? this.bakePositions() : null;
     }
 
     public int applyMapDecorations(ServerWorld serverWorld, Map<String, Decoration> decorations,
             MapState mapState, int cellNeighborIndex) {
-        nextIconId = 0;
-        int numAdded = 0;
+        MapLayer mapLayer = this.getOrCreateMapLayer(serverWorld, mapState, cellNeighborIndex);
+        for (int i = 0; i < mapLayer.keys().length; ++i) {
+            decorations.put(mapLayer.keys()[i], mapLayer.decorations()[i]);
+        }
+        return mapLayer.keys().length;
+    }
+
+    // Icons only depend on the path and the area the map covers, so they are cached per map area
+    private MapLayer getOrCreateMapLayer(ServerWorld serverWorld, MapState mapState,
+            int cellNeighborIndex) {
+        MapLayerKey key = new MapLayerKey(mapState.centerX, mapState.centerZ, mapState.scale,
+                cellNeighborIndex);
+        MapLayer mapLayer = mapLayers.getAndMoveToLast(key);
+        if (mapLayer != null) {
+            return mapLayer;
+        }
+
         NoiseConfig noiseConfig = serverWorld.getChunkManager().getNoiseConfig();
-        for (int i = 0; i < RainlinePath.RAINLINE_NODE_COUNT; ++i) {
-            numAdded += applyMapDecorationsForSpline(noiseConfig, decorations, mapState, splines[i],
-                    cellNeighborIndex);
+        List<String> keys = new ArrayList<>();
+        List<Decoration> decorations = new ArrayList<>();
+        float[] points = this.getMapIconPoints();
+        for (int i = 0; i < points.length; i += 3) {
+            float x = points[i];
+            float z = points[i + 1];
+            // Only add if it is on the map AND it is not in the Crimson Sea
+            if (isOnMap(mapState, x, z) && AetherSpores.hasRainlinePathsInSea(
+                    LumarChunkGenerator.getSporeSeaEntryAtPos(noiseConfig, (int) x, (int) z)
+                            .id())) {
+                keys.add("rainline-" + cellNeighborIndex + "-" + (keys.size() + 1));
+                decorations.add(
+                        new Decoration(ModMapDecorationTypes.RAINLINE, x, z, points[i + 2]));
+            }
+        }
+
+        mapLayer = new MapLayer(keys.toArray(new String[0]),
+                decorations.toArray(new Decoration[0]));
+        mapLayers.putAndMoveToLast(key, mapLayer);
+        if (mapLayers.size() > MAX_CACHED_MAP_LAYERS) {
+            mapLayers.removeFirst();
         }
-        return numAdded;
+        return mapLayer;
     }
 
     // Gets the stepProgress offset for the rainline at provided index, or -1 if bad index
@@ -171,38 +237,75 @@ public class RainlinePath {
         return Math.round(percentageOffset * getMaxSteps());
     }
 
-    public Vec2f getRainlinePosition(ServerWorld world, int stepOffset) {
+    public Vec2f getRainlinePosition(World world, int stepOffset) {
+        Vector2f pos = new Vector2f();
+        this.getRainlinePosition(world, stepOffset, pos);
+        return new Vec2f(pos.x, pos.y);
+    }
+
+    // Writes the x and z position of the rainline into the given vector. Only depends on world
+    // time, so it can be predicted on the client as well
+    public void getRainlinePosition(World world, int stepOffset, Vector2f dest) {
+        this.getPositionForStepProgress(this.getStepProgress(world, stepOffset), dest);
+    }
+
+    // Gets the last whole step that the rainline passed
+    public int getRainlineStep(World world, int stepOffset) {
+        return MathHelper.floor(this.getStepProgress(world, stepOffset));
+    }
+
+    // Samples whether each whole step is in a spore sea that allows rainlines, which is how the
+    // client knows where the server would despawn or never spawn path-following rainlines
+    public BitSet getRainlineSeaSteps(NoiseConfig noiseConfig) {
+        int maxSteps = this.getMaxSteps();
+        BitSet rainlineSeaSteps = new BitSet(maxSteps + 1);
+        Vector2f pos = new Vector2f();
+        for (int i = 0; i <= maxSteps; ++i) {
+            this.getPositionForStepProgress(i, pos);
+            SporeSeaEntry entry = LumarChunkGenerator.getSporeSeaEntryAtPos(noiseConfig,
+                    MathHelper.floor(pos.x), MathHelper.floor(pos.y));
+            if (AetherSpores.hasRainlinePathsInSea(entry.id())) {
+                rainlineSeaSteps.set(i);
+            }
+        }
+        return rainlineSeaSteps;
+    }
+
+    private float getStepProgress(World world, int stepOffset) {
         long gameTime = world.getTime();
         // Given game time and initial offset, where should we be?
-        float stepProgress = (gameTime * STEPS_PER_TICK + stepOffset) % getMaxSteps();
-        return getPositionForStepProgress(stepProgress);
+        return (gameTime * STEPS_PER_TICK + stepOffset) % getMaxSteps();
     }
 
-    private int applyMapDecorationsForSpline(NoiseConfig noiseConfig,
-            Map<String, Decoration> decorations, MapState mapState, Spline spline,
-            int cellNeighborIndex) {
-        int numAdded = 0;
-        float prevX = spline.applyX(0.0f);
-        float prevZ = spline.applyY(0.0f);
-        int splineSteps = MathHelper.floor(spline.length() / MAP_ICON_DISTANCE);
-        for (int i = 1; i <= splineSteps; ++i) {
-            float t = (float) i / splineSteps;
-            float x = spline.applyX(t);
-            float z = spline.applyY(t);
-            // Only add if it is on the map AND it is not in the Crimson Sea
-            if (isOnMap(mapState, x, z) && AetherSpores.hasRainlinePathsInSea(
-                    LumarChunkGenerator.getSporeSeaEntryAtPos(noiseConfig, (int) x, (int) z)
-                            .id())) {
-                float rotation = (float) MathHelper.atan2(z - prevZ, x - prevX)
+    // Icon points only depend on the path, so they are computed once
+    private float[] getMapIconPoints() {
+        if (mapIconPoints != null) {
+            return mapIconPoints;
+        }
+        int numPoints = 0;
+        for (Spline spline : splines) {
+            numPoints += MathHelper.floor(spline.length() / MAP_ICON_DISTANCE);
+        }
+        float[] points = new float[numPoints * 3];
+        int index = 0;
+        for (Spline spline : splines) {
+            float prevX = spline.applyX(0.0f);
+            float prevZ = spline.applyY(0.0f);
+            int splineSteps = MathHelper.floor(spline.length() / MAP_ICON_DISTANCE);
+            for (int i = 1; i <= splineSteps; ++i) {
+                float t = (float) i / splineSteps;
+                float x = spline.applyX(t);
+                float z = spline.applyY(t);
+                points[index++] = x;
+                points[index++] = z;
+                points[index++] = (float) MathHelper.atan2(z - prevZ, x - prevX)
                         * MathHelper.DEGREES_PER_RADIAN;
-                ++numAdded;
-                decorations.put("rainline-" + cellNeighborIndex + "-" + (++nextIconId),
-                        new Decoration(ModMapDecorationTypes.RAINLINE, x, z, rotation));
+                prevX = x;
+                prevZ = z;
             }
-            prevX = x;
-            prevZ = z;
         }
-        return numAdded;
+        mapIconPoints = points;
+        return points;
     }
 
     private boolean isOnMap(MapState mapState, float x, float z) {
@@ -231,40 +334,83 @@ public class RainlinePath {
         float totalLength = 0.0f;
         for (int i = 0; i < RAINLINE_NODE_COUNT; ++i) {
             Spline spline = calculateSpline(i, rainlineNodes);
+            cumulativeLengths[i] = totalLength;
             totalLength += spline.length();
             splines[i] = spline;
         }
+        cumulativeLengths[RAINLINE_NODE_COUNT] = totalLength;
         return totalLength;
     }
 
-    private Vec2f getPositionForStepProgress(float stepProgress) {
+    private float[] bakePositions() {
+        int maxSteps = this.getMaxSteps();
+        float[] positions = new float[(maxSteps + 1) * 2];
+        Vector2f pos = new Vector2f();
+        for (int i = 0; i <= maxSteps; ++i) {
+            this.getPositionForDistanceAlongCycle(i * STEP_BLOCK_LENGTH, pos);
+            positions[i * 2] = pos.x;
+            positions[i * 2 + 1] = pos.y;
+        }
+        return positions;
+    }
+
+    void getPositionForStepProgress(float stepProgress, Vector2f dest) {
+        if (bakedPositions != null) {
+            int step = MathHelper.clamp(MathHelper.floor(stepProgress), 0,
+                    bakedPositions.length / 2 - 2);
+            float delta = MathHelper.clamp(stepProgress - step, 0.0f, 1.0f);
+            int index = step * 2;
+            dest.set(MathHelper.lerp(delta, bakedPositions[index], bakedPositions[index + 2]),
+                    MathHelper.lerp(delta, bakedPositions[index + 1], bakedPositions[index + 3]));
+            return;
+        }
         float distanceAlongCycle = stepProgress * STEP_BLOCK_LENGTH;
-        return getPositionForDistanceAlongCycle(distanceAlongCycle);
+        this.getPositionForDistanceAlongCycle(distanceAlongCycle, dest);
     }
 
     // Get position for distance in blocks, assuming distance is in [0, totalLength)
-    private Vec2f getPositionForDistanceAlongCycle(float distanceAlongCycle) {
+    void getPositionForDistanceAlongCycle(float distanceAlongCycle, Vector2f dest) {
         if (distanceAlongCycle <= 0) {
-            return getStartingPoint();
+            this.getStartingPoint(dest);
+            return;
         }
 
-        float current = 0.0f;
-        float next;
-        for (int i = 0; i < RAINLINE_NODE_COUNT; ++i) {
-            Spline spline = splines[i];
-            next = current + spline.length();
-            if (next >= distanceAlongCycle) {
-                float distanceAlongSpline = distanceAlongCycle - current;
-                float t = MathHelper.clamp(distanceAlongSpline / spline.length(), 0.0f, 1.0f);
-                return spline.apply(t);
+        // Find the first spline that ends at or after the distance
+        int low = 0;
+        int high = RAINLINE_NODE_COUNT - 1;
+        int splineIndex = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeLengths[mid + 1] >= distanceAlongCycle) {
+                splineIndex = mid;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
             }
-            current = next;
         }
-        return getStartingPoint();
+        if (splineIndex < 0) {
+            this.getStartingPoint(dest);
+            return;
+        }
+
+        Spline spline = splines[splineIndex];
+        float distanceAlongSpline = distanceAlongCycle - cumulativeLengths[splineIndex];
+        float t = MathHelper.clamp(distanceAlongSpline / spline.length(), 0.0f, 1.0f);
+        dest.set(spline.applyX(t), spline.applyY(t));
+    }
+
+    Spline getSpline(int index) {
+        return splines[index];
+    }
+
+    // Distance along the cycle at the start of the spline, or the total length if index is
+    // RAINLINE_NODE_COUNT
+    float getCumulativeLength(int index) {
+        return cumulativeLengths[index];
     }
 
-    private Vec2f getStartingPoint() {
-        return splines[0].apply(0.0f);
+    private void getStartingPoint(Vector2f dest) {
+        dest.set(splines[0].applyX(0.0f), splines[0].applyY(0.0f));
     }
 
     public int getMaxSteps() {
@@ -26,15 +26,11 @@ package io.github.drakonkinst.worldsinger.cosmere.lumar;
 
 import io.github.drakonkinst.worldsinger.entity.rainline.RainlineEntity;
 import io.github.drakonkinst.worldsinger.util.VectorUtil;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import net.minecraft.component.type.MapDecorationsComponent.Decoration;
 import net.minecraft.item.map.MapState;
-import net.minecraft.predicate.entity.EntityPredicates;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.util.TypeFilter;
-import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
@@ -64,34 +60,15 @@ public interface RainlineSpawner {
     }
 
     static List<RainlineEntity> getNearbyRainlineEntities(World world, Vec3d pos, double radius) {
-        final double x = pos.getX();
-        final double z = pos.getZ();
-        final double searchRadius = RAINLINE_RADIUS + radius;
-        final Box box = new Box(x - searchRadius, world.getBottomY(), z - searchRadius,
-                x + searchRadius, world.getTopYInclusive(), z + searchRadius);
-        return world.getEntitiesByClass(RainlineEntity.class, box, EntityPredicates.VALID_ENTITY);
+        return RainlineTracker.get(world)
+                .getRainlinesInSquare(pos.getX(), pos.getZ(), RAINLINE_RADIUS + radius);
     }
 
     static boolean shouldRainlineAffectBlocks(ServerWorld world, Vec3d pos) {
-        // final double x = pos.getX();
-        // final double z = pos.getZ();
-        // final Box box = new Box(x - RAINLINE_SEARCH_RADIUS, world.getBottomY(),
-        //         z - RAINLINE_SEARCH_RADIUS, x + RAINLINE_SEARCH_RADIUS, world.getTopYInclusive(),
-        //         z + RAINLINE_SEARCH_RADIUS);
-        // List<RainlineEntity> nearbyRainlines = world.getEntitiesByClass(RainlineEntity.class, box,
-        //         EntityPredicates.VALID_ENTITY);
-
-        // For some reason there is a bug where the rainline, even though nearby, doesn't get caught in the box after a few seconds. So doing it manually
-        List<RainlineEntity> nearbyRainlines = new ArrayList<>();
-        world.collectEntitiesByType(TypeFilter.instanceOf(RainlineEntity.class),
-                EntityPredicates.VALID_ENTITY, nearbyRainlines);
-        for (RainlineEntity entity : nearbyRainlines) {
-            double distSq = VectorUtil.getHorizontalDistSq(entity.getPos(), pos);
-            if (distSq <= RAINLINE_EFFECT_RADIUS * RAINLINE_EFFECT_RADIUS) {
-                return true;
-            }
-        }
-        return false;
+        // Entity box queries would sometimes miss nearby rainlines, so use the tracked
+        // positions instead
+        return RainlineTracker.get(world)
+                .isAnyRainlineWithin(pos.getX(), pos.getZ(), RAINLINE_EFFECT_RADIUS);
     }
 
     void serverTick(ServerWorld world);
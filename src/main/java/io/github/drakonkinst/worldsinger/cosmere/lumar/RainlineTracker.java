@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.drakonkinst.worldsinger.cosmere.lumar;
+
+import io.github.drakonkinst.worldsinger.entity.attachments.ModAttachmentTypes;
+import io.github.drakonkinst.worldsinger.entity.rainline.RainlineEntity;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+// Tracks the horizontal positions of all loaded rainlines in a world on a coarse grid, so that
+// point queries only need to look at a few cells instead of every rainline entity.
+// Maintained on both the server and client.
+@SuppressWarnings("UnstableApiUsage")
+public class RainlineTracker {
+
+    private static final int CELL_SIZE_BITS = 5;
+    // Rainlines are tracked by their center, but their hitbox extends this far from it
+    private static final double HALF_WIDTH = RainlineSpawner.RAINLINE_RADIUS;
+
+    public static RainlineTracker get(World world) {
+        return world.getAttachedOrCreate(ModAttachmentTypes.RAINLINE_TRACKER);
+    }
+
+    private static long toCellKey(double x, double z) {
+        return ChunkPos.toLong(MathHelper.floor(x) >> CELL_SIZE_BITS,
+                MathHelper.floor(z) >> CELL_SIZE_BITS);
+    }
+
+    private final Long2ObjectMap<List<RainlineEntity>> cells = new Long2ObjectOpenHashMap<>();
+    private final Object2LongMap<RainlineEntity> entityCells = new Object2LongOpenHashMap<>();
+
+    // Called whenever a rainline is loaded or moves
+    public void update(RainlineEntity entity) {
+        if (entity.isRemoved()) {
+            this.remove(entity);
+            return;
+        }
+        long cellKey = RainlineTracker.toCellKey(entity.getX(), entity.getZ());
+        if (entityCells.containsKey(entity)) {
+            long oldCellKey = entityCells.getLong(entity);
+            if (oldCellKey == cellKey) {
+                return;
+            }
+            this.removeFromCell(entity, oldCellKey);
+        }
+        entityCells.put(entity, cellKey);
+        cells.computeIfAbsent(cellKey, key -> new ArrayList<>(1)).add(entity);
+    }
+
+    public void remove(RainlineEntity entity) {
+        if (!entityCells.containsKey(entity)) {
+            return;
+        }
+        long cellKey = entityCells.removeLong(entity);
+        this.removeFromCell(entity, cellKey);
+    }
+
+    // Returns true if the center of any rainline is within the given horizontal radius
+    public boolean isAnyRainlineWithin(double x, double z, double radius) {
+        double radiusSq = radius * radius;
+        int minCellX = MathHelper.floor(x - radius) >> CELL_SIZE_BITS;
+        int minCellZ = MathHelper.floor(z - radius) >> CELL_SIZE_BITS;
+        int maxCellX = MathHelper.floor(x + radius) >> CELL_SIZE_BITS;
+        int maxCellZ = MathHelper.floor(z + radius) >> CELL_SIZE_BITS;
+        for (int cellX = minCellX; cellX <= maxCellX; ++cellX) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; ++cellZ) {
+                List<RainlineEntity> entities = cells.get(ChunkPos.toLong(cellX, cellZ));
+                if (entities == null) {
+                    continue;
+                }
+                for (int i = 0; i < entities.size(); ++i) {
+                    RainlineEntity entity = entities.get(i);
+                    double deltaX = entity.getX() - x;
+                    double deltaZ = entity.getZ() - z;
+                    if (deltaX * deltaX + deltaZ * deltaZ <= radiusSq && !entity.isRemoved()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Returns all rainlines whose hitbox horizontally overlaps the square around the given position
+    public List<RainlineEntity> getRainlinesInSquare(double x, double z, double halfSize) {
+        List<RainlineEntity> results = new ArrayList<>();
+        double searchRadius = halfSize + HALF_WIDTH;
+        int minCellX = MathHelper.floor(x - searchRadius) >> CELL_SIZE_BITS;
+        int minCellZ = MathHelper.floor(z - searchRadius) >> CELL_SIZE_BITS;
+        int maxCellX = MathHelper.floor(x + searchRadius) >> CELL_SIZE_BITS;
+        int maxCellZ = MathHelper.floor(z + searchRadius) >> CELL_SIZE_BITS;
+        for (int cellX = minCellX; cellX <= maxCellX; ++cellX) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; ++cellZ) {
+                List<RainlineEntity> entities = cells.get(ChunkPos.toLong(cellX, cellZ));
+                if (entities == null) {
+                    continue;
+                }
+                for (int i = 0; i < entities.size(); ++i) {
+                    RainlineEntity entity = entities.get(i);
+                    if (Math.abs(entity.getX() - x) < searchRadius
+                            && Math.abs(entity.getZ() - z) < searchRadius && !entity.isRemoved()) {
+                        results.add(entity);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    public int size() {
+        return entityCells.size();
+    }
+
+    private void removeFromCell(RainlineEntity entity, long cellKey) {
+        List<RainlineEntity> entities = cells.get(cellKey);
+        if (entities == null) {
+            return;
+        }
+        entities.remove(entity);
+        if (entities.isEmpty()) {
+            cells.remove(cellKey);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.cosmere.lumar;
+
+import io.github.drakonkinst.datatables.DataTable;
+import io.github.drakonkinst.datatables.DataTables;
+import io.github.drakonkinst.worldsinger.cosmere.MetalProfile;
+import io.github.drakonkinst.worldsinger.cosmere.MetalQueryManager;
+import io.github.drakonkinst.worldsinger.entity.attachments.ModAttachmentTypes;
+import io.github.drakonkinst.worldsinger.registry.ModDataTables;
+import io.github.drakonkinst.worldsinger.util.EntityUtil;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.vehicle.AbstractMinecartEntity;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+// Memoizes the entities that can push or pull spore growths, per chunk section, for the current
+// tick. Growths from the same explosion are usually close together, so this lets them share one
+// entity query and one metal lookup per entity.
+@SuppressWarnings("UnstableApiUsage")
+public class SporeGrowthForceSources {
+
+    // Entities are stored in the section of their position, but their hitbox can reach into
+    // neighboring sections. Matches the margin used by vanilla entity lookups.
+    private static final double ENTITY_SECTION_MARGIN = 2.0;
+
+    public static SporeGrowthForceSources get(World world) {
+        return world.getAttachedOrCreate(ModAttachmentTypes.SPORE_GROWTH_FORCE_SOURCES);
+    }
+
+    // Minecarts are assumed to only have iron content
+    public record ForceSource(Entity entity, Vec3d center, int metalContent, boolean isIron,
+                              boolean isMinecart) {}
+
+    private final Long2ObjectMap<List<ForceSource>> sourcesBySection = new Long2ObjectOpenHashMap<>();
+    private long lastUpdateTime = Long.MIN_VALUE;
+
+    // Visits every force source whose hitbox intersects the box
+    public void forEachSource(World world, Box box, Consumer<ForceSource> consumer) {
+        long time = world.getTime();
+        if (time != lastUpdateTime) {
+            sourcesBySection.clear();
+            lastUpdateTime = time;
+        }
+
+        int minSectionX = ChunkSectionPos.getSectionCoord(
+                MathHelper.floor(box.minX - ENTITY_SECTION_MARGIN));
+        int minSectionY = ChunkSectionPos.getSectionCoord(
+                MathHelper.floor(box.minY - ENTITY_SECTION_MARGIN));
+        int minSectionZ = ChunkSectionPos.getSectionCoord(
+                MathHelper.floor(box.minZ - ENTITY_SECTION_MARGIN));
+        int maxSectionX = ChunkSectionPos.getSectionCoord(
+                MathHelper.floor(box.maxX + ENTITY_SECTION_MARGIN));
+        int maxSectionY = ChunkSectionPos.getSectionCoord(
+                MathHelper.floor(box.maxY + ENTITY_SECTION_MARGIN));
+        int maxSectionZ = ChunkSectionPos.getSectionCoord(
+                MathHelper.floor(box.maxZ + ENTITY_SECTION_MARGIN));
+        for (int sectionX = minSectionX; sectionX <= maxSectionX; ++sectionX) {
+            for (int sectionY = minSectionY; sectionY <= maxSectionY; ++sectionY) {
+                for (int sectionZ = minSectionZ; sectionZ <= maxSectionZ; ++sectionZ) {
+                    List<ForceSource> sources = this.getOrCreateSources(world, sectionX, sectionY,
+                            sectionZ);
+                    for (int i = 0; i < sources.size(); ++i) {
+                        ForceSource source = sources.get(i);
+                        if (source.entity().getBoundingBox().intersects(box)) {
+                            consumer.accept(source);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Called at the end of each tick so that entities are not kept around
+    public void clear() {
+        sourcesBySection.clear();
+    }
+
+    private List<ForceSource> getOrCreateSources(World world, int sectionX, int sectionY,
+            int sectionZ) {
+        long sectionKey = ChunkSectionPos.asLong(sectionX, sectionY, sectionZ);
+        List<ForceSource> sources = sourcesBySection.get(sectionKey);
+        if (sources == null) {
+            sources = this.findSources(world, sectionX, sectionY, sectionZ);
+            sourcesBySection.put(sectionKey, sources);
+        }
+        return sources;
+    }
+
+    private List<ForceSource> findSources(World world, int sectionX, int sectionY, int sectionZ) {
+        int minX = ChunkSectionPos.getBlockCoord(sectionX);
+        int minY = ChunkSectionPos.getBlockCoord(sectionY);
+        int minZ = ChunkSectionPos.getBlockCoord(sectionZ);
+        Box sectionBox = new Box(minX, minY, minZ, minX + 16, minY + 16, minZ + 16);
+        List<Entity> entities = world.getOtherEntities(null, sectionBox,
+                entity -> entity.isAlive() && (entity instanceof LivingEntity
+                        || entity instanceof AbstractMinecartEntity));
+        if (entities.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        DataTable metalContentTable = DataTables.get(ModDataTables.ENTITY_METAL_CONTENT);
+        DataTable armorMetalContentTable = DataTables.get(ModDataTables.ARMOR_METAL_CONTENT);
+        List<ForceSource> sources = new ArrayList<>();
+        for (Entity entity : entities) {
+            // Only keep entities positioned in this section, so each entity is only stored once
+            if (ChunkSectionPos.getSectionCoord(entity.getBlockX()) != sectionX
+                    || ChunkSectionPos.getSectionCoord(entity.getBlockY()) != sectionY
+                    || ChunkSectionPos.getSectionCoord(entity.getBlockZ()) != sectionZ) {
+                continue;
+            }
+            MetalProfile metalProfile = MetalQueryManager.getMetalProfile(entity,
+                    metalContentTable, armorMetalContentTable);
+            int ironContent = metalProfile.getIronContent();
+            if (entity instanceof AbstractMinecartEntity) {
+                if (ironContent > 0) {
+                    sources.add(new ForceSource(entity, EntityUtil.getCenterPos(entity),
+                            ironContent, true, true));
+                }
+                continue;
+            }
+
+            int steelContent = metalProfile.getSteelContent();
+            if (ironContent == steelContent) {
+                // Also covers entities with no metal
+                continue;
+            }
+            boolean isIron = ironContent > steelContent;
+            int metalContent = Math.abs(ironContent - steelContent);
+            sources.add(new ForceSource(entity, EntityUtil.getCenterPos(entity), metalContent,
+                    isIron, false));
+        }
+        return sources;
+    }
+}
@@ -23,21 +23,12 @@
  */
 package io.github.drakonkinst.worldsinger.cosmere.lumar;
 
-import io.github.drakonkinst.datatables.DataTable;
-import io.github.drakonkinst.datatables.DataTables;
-import io.github.drakonkinst.worldsinger.Worldsinger;
-import io.github.drakonkinst.worldsinger.cosmere.MetalQueryManager;
-import io.github.drakonkinst.worldsinger.registry.ModDataTables;
-import io.github.drakonkinst.worldsinger.registry.tag.ModBlockTags;
 import io.github.drakonkinst.worldsinger.util.BlockPosUtil;
 import io.github.drakonkinst.worldsinger.util.BoxUtil;
-import io.github.drakonkinst.worldsinger.util.EntityUtil;
-import java.util.List;
-import net.minecraft.block.BlockState;
-import net.minecraft.entity.Entity;
-import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.vehicle.AbstractMinecartEntity;
+import io.github.drakonkinst.worldsinger.world.BlockIndexManager;
+import io.github.drakonkinst.worldsinger.world.SectionBlockIndex;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.Mutable;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
@@ -54,135 +45,67 @@ public final class SporeGrowthMovement {
         SporeGrowthMovement.calcEntityExternalForce(world, pos, force);
     }
 
+    // Only visits the iron and steel blocks in range, which are tracked per chunk section and
+    // kept up-to-date as blocks change
     private static void calcBlockExternalForce(World world, BlockPos pos, Vector3d force) {
-        DataTable metalContentTable = DataTables.get(ModDataTables.BLOCK_METAL_CONTENT);
-
-        int minX = pos.getX() - MAX_SEARCH_RADIUS;
-        int minY = pos.getY() - MAX_SEARCH_RADIUS;
-        int minZ = pos.getZ() - MAX_SEARCH_RADIUS;
-        int maxX = pos.getX() + MAX_SEARCH_RADIUS;
-        int maxY = pos.getY() + MAX_SEARCH_RADIUS;
-        int maxZ = pos.getZ() + MAX_SEARCH_RADIUS;
-
-        double forceX = 0;
-        double forceY = 0;
-        double forceZ = 0;
-
-        for (BlockPos currentPos : BlockPos.iterate(minX, minY, minZ, maxX, maxY, maxZ)) {
-            if (currentPos.equals(pos)) {
-                continue;
-            }
-
-            BlockState blockState = world.getBlockState(currentPos);
-            boolean hasIron = blockState.isIn(ModBlockTags.HAS_IRON);
-            boolean hasSteel = blockState.isIn(ModBlockTags.HAS_STEEL);
-
-            if (!hasIron && !hasSteel) {
-                continue;
-            }
-
-            int range = metalContentTable.query(blockState);
-            if (range <= 0) {
-                Worldsinger.LOGGER.warn("Block " + blockState.getBlock().getName()
-                        + " is defined as having iron or steel, but no metal content value is given");
-                continue;
-            }
-
-            if (BlockPosUtil.isInvestitureBlocked(world, currentPos, pos)) {
-                continue;
-            }
-
-            Vec3d dir = BlockPosUtil.getNormalizedVectorBetween(currentPos, pos, hasSteel);
-            int distance = BlockPosUtil.getDistance(pos, currentPos);
-
-            if (range < distance) {
-                continue;
-            }
-
-            int power = (range - distance + 1) * BLOCK_FORCE_MULTIPLIER;
-            forceX += dir.getX() * power;
-            forceY += dir.getY() * power;
-            forceZ += dir.getZ() * power;
-        }
-        force.add(forceX, forceY, forceZ);
+        SectionBlockIndex metalBlocks = BlockIndexManager.get(world).getMetalBlocks();
+        int posX = pos.getX();
+        int posY = pos.getY();
+        int posZ = pos.getZ();
+        Mutable currentPos = new Mutable();
+        metalBlocks.forEach(world, posX - MAX_SEARCH_RADIUS, posY - MAX_SEARCH_RADIUS,
+                posZ - MAX_SEARCH_RADIUS, posX + MAX_SEARCH_RADIUS, posY + MAX_SEARCH_RADIUS,
+                posZ + MAX_SEARCH_RADIUS, (x, y, z, value) -> {
+                    if (x == posX && y == posY && z == posZ) {
+                        return;
+                    }
+
+                    // Check range first since it is much cheaper than the occlusion test
+                    int range = value >> 1;
+                    currentPos.set(x, y, z);
+                    int distance = BlockPosUtil.getDistance(pos, currentPos);
+                    if (range < distance) {
+                        return;
+                    }
+
+                    if (BlockPosUtil.isInvestitureBlocked(world, currentPos, pos)) {
+                        return;
+                    }
+
+                    boolean hasSteel = (value & 1) != 0;
+                    Vec3d dir = BlockPosUtil.getNormalizedVectorBetween(currentPos, pos, hasSteel);
+                    int power = (range - distance + 1) * BLOCK_FORCE_MULTIPLIER;
+                    force.add(dir.getX() * power, dir.getY() * power, dir.getZ() * power);
+                });
     }
 
+    // Entities near each other are looked up once per tick and shared between growths
     private static void calcEntityExternalForce(World world, BlockPos pos, Vector3d force) {
-        DataTable metalContentTable = DataTables.get(ModDataTables.ENTITY_METAL_CONTENT);
-        DataTable armorMetalContentTable = DataTables.get(ModDataTables.ARMOR_METAL_CONTENT);
         Box box = BoxUtil.createBoxAroundBlock(pos, MAX_SEARCH_RADIUS);
-        double forceX = 0;
-        double forceY = 0;
-        double forceZ = 0;
-
-        List<LivingEntity> nearbyLivingEntities = world.getEntitiesByClass(LivingEntity.class, box,
-                LivingEntity::isAlive);
-        for (LivingEntity entity : nearbyLivingEntities) {
-            Vec3d entityCenter = EntityUtil.getCenterPos(entity);
-            Vec3d blockCenter = pos.toCenterPos();
-            if (BlockPosUtil.isInvestitureBlocked(world, entityCenter, blockCenter)) {
-                continue;
-            }
-
-            int ironContent = MetalQueryManager.getIronContentForEntity(entity, metalContentTable,
-                    armorMetalContentTable);
-            int steelContent = MetalQueryManager.getSteelContentForEntity(entity, metalContentTable,
-                    armorMetalContentTable);
-
-            if ((ironContent <= 0 && steelContent <= 0) || ironContent == steelContent) {
-                return;
-            }
-
-            boolean isIron;
-            int metalContent;
-            if (ironContent > steelContent) {
-                metalContent = ironContent - steelContent;
-                isIron = true;
-            } else {
-                metalContent = steelContent - ironContent;
-                isIron = false;
-            }
-
+        Vec3d blockCenter = pos.toCenterPos();
+        SporeGrowthForceSources.get(world).forEachSource(world, box, source -> {
+            Vec3d entityCenter = source.center();
             double distance = entityCenter.distanceTo(blockCenter);
-            double power = Math.max(0.0, metalContent - distance);
-
+            double power = Math.max(0.0, source.metalContent() - distance);
             if (power == 0) {
-                continue;
+                return;
             }
 
-            Vec3d forceDir = BlockPosUtil.getNormalizedVectorBetween(blockCenter, entityCenter,
-                    isIron);
-            forceX += forceDir.getX() * power;
-            forceY += forceDir.getY() * power;
-            forceZ += forceDir.getZ() * power;
-        }
-
-        List<AbstractMinecartEntity> nearbyMinecarts = world.getEntitiesByClass(
-                AbstractMinecartEntity.class, box, Entity::isAlive);
-        for (AbstractMinecartEntity entity : nearbyMinecarts) {
-            Vec3d entityCenter = EntityUtil.getCenterPos(entity);
-            Vec3d blockCenter = pos.toCenterPos();
+            // Check power first since it is much cheaper than the occlusion test
             if (BlockPosUtil.isInvestitureBlocked(world, entityCenter, blockCenter)) {
-                continue;
+                return;
             }
 
-            // Assume this entity will only have iron content
-            int ironContent = MetalQueryManager.getIronContentForEntity(entity, metalContentTable,
-                    armorMetalContentTable);
-            double distance = entityCenter.distanceTo(blockCenter);
-            double power = Math.max(0, ironContent - distance);
-            if (power == 0) {
-                continue;
+            Vec3d forceDir;
+            if (source.isMinecart()) {
+                forceDir = BlockPosUtil.getNormalizedVectorBetween(entityCenter, blockCenter,
+                        false);
+            } else {
+                forceDir = BlockPosUtil.getNormalizedVectorBetween(blockCenter, entityCenter,
+                        source.isIron());
             }
-
-            Vec3d forceDir = BlockPosUtil.getNormalizedVectorBetween(entityCenter, blockCenter,
-                    false);
-            forceX += forceDir.getX() * power;
-            forceY += forceDir.getY() * power;
-            forceZ += forceDir.getZ() * power;
-        }
-
-        force.add(forceX, forceY, forceZ);
+            force.add(forceDir.getX() * power, forceDir.getY() * power, forceDir.getZ() * power);
+        });
     }
 
     private SporeGrowthMovement() {}
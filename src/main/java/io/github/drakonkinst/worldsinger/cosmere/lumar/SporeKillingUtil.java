@@ -23,9 +23,6 @@
  */
 package io.github.drakonkinst.worldsinger.cosmere.lumar;
 
-import io.github.drakonkinst.datatables.DataTable;
-import io.github.drakonkinst.datatables.DataTables;
-import io.github.drakonkinst.worldsinger.api.sync.AttachmentSync;
 import io.github.drakonkinst.worldsinger.block.LivingSporeGrowthBlock;
 import io.github.drakonkinst.worldsinger.block.SporeKillable;
 import io.github.drakonkinst.worldsinger.cosmere.SilverLined;
@@ -34,10 +31,10 @@ import io.github.drakonkinst.worldsinger.entity.attachments.ModAttachmentTypes;
 import io.github.drakonkinst.worldsinger.fluid.Fluidlogged;
 import io.github.drakonkinst.worldsinger.fluid.ModFluidTags;
 import io.github.drakonkinst.worldsinger.fluid.ModFluids;
-import io.github.drakonkinst.worldsinger.registry.ModDataTables;
-import io.github.drakonkinst.worldsinger.registry.tag.ModBlockTags;
 import io.github.drakonkinst.worldsinger.util.BlockPosUtil;
 import io.github.drakonkinst.worldsinger.util.ModProperties;
+import io.github.drakonkinst.worldsinger.world.BlockIndexManager;
+import io.github.drakonkinst.worldsinger.world.SectionBlockIndex;
 import java.util.List;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
@@ -153,25 +150,10 @@ public final class SporeKillingUtil {
     }
 
     public static boolean isSporeKillingBlockNearby(World world, BlockPos pos) {
-        DataTable dataTable = DataTables.get(ModDataTables.SPORE_KILLING_RADIUS);
-        for (BlockPos currentPos : BlockPos.iterateOutwards(pos, MAX_BLOCK_RADIUS, MAX_BLOCK_RADIUS,
-                MAX_BLOCK_RADIUS)) {
-            BlockState blockState = world.getBlockState(currentPos);
-            if (!blockState.isIn(ModBlockTags.KILLS_SPORES)) {
-                continue;
-            }
-
-            int distance = BlockPosUtil.getDistance(pos, currentPos);
-            if (dataTable.query(blockState) < distance) {
-                continue;
-            }
-
-            if (BlockPosUtil.isInvestitureBlocked(world, currentPos, pos)) {
-                continue;
-            }
-            return true;
-        }
-        return false;
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        return SporeKillingUtil.isSporeKillingBlockNearbyForRange(world, x, y, z, x, y, z);
     }
 
     public static boolean checkNearbyEntities(World world, Vec3d pos) {
@@ -186,11 +168,8 @@ public final class SporeKillingUtil {
                             ModAttachmentTypes.SILVER_LINED_BOAT);
                     boolean hasSilver = silverData != null && silverData.getSilverDurability() > 0;
                     if (hasSilver) {
+                        // Synced by the boat once per tick
                         silverData.decrementDurability();
-                        if (!world.isClient()) {
-                            AttachmentSync.sync(boatEntity, ModAttachmentTypes.SILVER_LINED_BOAT,
-                                    silverData);
-                        }
                     }
                     return hasSilver;
                 });
@@ -213,36 +192,21 @@ public final class SporeKillingUtil {
 
     public static boolean isSporeKillingBlockNearbyForRange(World world, int minX, int minY,
             int minZ, int maxX, int maxY, int maxZ) {
-        DataTable dataTable = DataTables.get(ModDataTables.SPORE_KILLING_RADIUS);
-
-        int searchMinX = minX - MAX_BLOCK_RADIUS;
-        int searchMinY = minY - MAX_BLOCK_RADIUS;
-        int searchMinZ = minZ - MAX_BLOCK_RADIUS;
-        int searchMaxX = maxX + MAX_BLOCK_RADIUS;
-        int searchMaxY = maxY + MAX_BLOCK_RADIUS;
-        int searchMaxZ = maxZ + MAX_BLOCK_RADIUS;
-
+        SectionBlockIndex sporeKillers = BlockIndexManager.get(world).getSporeKillers();
+        BlockPos.Mutable searchPos = new BlockPos.Mutable();
         BlockPos.Mutable closestPos = new BlockPos.Mutable();
-        for (BlockPos searchPos : BlockPos.iterate(searchMinX, searchMinY, searchMinZ, searchMaxX,
-                searchMaxY, searchMaxZ)) {
-            BlockState blockState = world.getBlockState(searchPos);
-            if (!blockState.isIn(ModBlockTags.KILLS_SPORES)) {
-                continue;
-            }
-
-            SporeKillingUtil.calcClosestPointOnCuboid(searchPos.getX(), searchPos.getY(),
-                    searchPos.getZ(), minX, minY, minZ, maxX, maxY, maxZ, closestPos);
-            int distance = BlockPosUtil.getDistance(searchPos, closestPos);
-            if (dataTable.query(blockState) < distance) {
-                continue;
-            }
-
-            if (BlockPosUtil.isInvestitureBlocked(world, searchPos, closestPos)) {
-                continue;
-            }
-            return true;
-        }
-        return false;
+        return sporeKillers.anyMatch(world, minX - MAX_BLOCK_RADIUS, minY - MAX_BLOCK_RADIUS,
+                minZ - MAX_BLOCK_RADIUS, maxX + MAX_BLOCK_RADIUS, maxY + MAX_BLOCK_RADIUS,
+                maxZ + MAX_BLOCK_RADIUS, (x, y, z, radius) -> {
+                    SporeKillingUtil.calcClosestPointOnCuboid(x, y, z, minX, minY, minZ, maxX,
+                            maxY, maxZ, closestPos);
+                    searchPos.set(x, y, z);
+                    int distance = BlockPosUtil.getDistance(searchPos, closestPos);
+                    if (radius < distance) {
+                        return false;
+                    }
+                    return !BlockPosUtil.isInvestitureBlocked(world, searchPos, closestPos);
+                });
     }
 
     private static void calcClosestPointOnCuboid(int x, int y, int z, int minX, int minY, int minZ,
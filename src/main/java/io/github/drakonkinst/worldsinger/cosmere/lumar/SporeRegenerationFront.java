@@ -0,0 +1,392 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.cosmere.lumar;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import io.github.drakonkinst.worldsinger.block.ModBlocks;
+import io.github.drakonkinst.worldsinger.entity.attachments.ModAttachmentTypes;
+import io.github.drakonkinst.worldsinger.fluid.LivingAetherSporeFluid;
+import io.github.drakonkinst.worldsinger.registry.ModGameRules;
+import io.github.drakonkinst.worldsinger.world.BlockIndexManager;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.block.BlockState;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.Mutable;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+// Tracks the dead spore sea blocks next to living spore sea in each chunk, which are the only
+// ones that can regenerate during a seethe. Each block regenerates once it has spent a set number
+// of seething ticks on the front, taking the spore type of one of its living neighbors. The clock
+// only runs while spores are fluidized, so regeneration pauses during a stilling.
+// Chunks are scanned the first time they tick during a seethe, then kept up-to-date through block
+// changes until they are unloaded. Only the earliest join time of each unloaded front is saved with
+// the world, and blocks found when that chunk is scanned again are treated as having been on the
+// front since then, so chunks that keep unloading still regenerate.
+@SuppressWarnings("UnstableApiUsage")
+public class SporeRegenerationFront {
+
+    private static final String KEY_SEETHE_TICKS = "seethe_ticks";
+    private static final String KEY_SAVED_FRONTS = "saved_fronts";
+    private static final String KEY_CHUNK = "chunk";
+    private static final String KEY_JOINED_AT = "joined_at";
+
+    public static final Codec<SporeRegenerationFront> CODEC = RecordCodecBuilder.create(
+            instance -> instance.group(Codec.LONG.fieldOf(KEY_SEETHE_TICKS)
+                                    .forGetter(front -> front.seetheTicks),
+                            SavedFront.CODEC.listOf()
+                                    .fieldOf(KEY_SAVED_FRONTS)
+                                    .forGetter(SporeRegenerationFront::getSavedFronts))
+                    .apply(instance, SporeRegenerationFront::new));
+
+    // How often each chunk checks its front, in ticks
+    private static final int ADVANCE_INTERVAL = 20;
+
+    public static SporeRegenerationFront get(World world) {
+        return world.getAttachedOrCreate(ModAttachmentTypes.SPORE_REGENERATION_FRONT);
+    }
+
+    // Only these changes can add or remove front blocks
+    public static boolean isFrontChange(BlockState oldState, BlockState newState) {
+        return oldState.isOf(ModBlocks.DEAD_SPORE_SEA) || newState.isOf(ModBlocks.DEAD_SPORE_SEA)
+                || newState.getFluidState().getFluid() instanceof LivingAetherSporeFluid;
+    }
+
+    private record SavedFront(long chunkPos, long joinedAt) {
+
+        private static final Codec<SavedFront> CODEC = RecordCodecBuilder.create(
+                instance -> instance.group(
+                                Codec.LONG.fieldOf(KEY_CHUNK).forGetter(SavedFront::chunkPos),
+                                Codec.LONG.fieldOf(KEY_JOINED_AT).forGetter(SavedFront::joinedAt))
+                        .apply(instance, SavedFront::new));
+    }
+
+    // Maps chunk position to the positions of its front blocks and the seething tick they joined
+    private final Long2ObjectMap<Long2LongMap> fronts = new Long2ObjectOpenHashMap<>();
+    // Maps the chunk position of each unloaded front to the earliest seething tick any block joined
+    private final Long2LongMap unloadedFronts = new Long2LongOpenHashMap();
+    // Chunks that loaded next to a front, whose edges may have dead spore sea that joins it
+    private final LongSet loadedNearFront = new LongOpenHashSet();
+    private final LongArrayList readyPositions = new LongArrayList();
+    private final Mutable mutable = new Mutable();
+    private long seetheTicks = 0L;
+
+    public SporeRegenerationFront() {}
+
+    private SporeRegenerationFront(long seetheTicks, List<SavedFront> savedFronts) {
+        this.seetheTicks = seetheTicks;
+        for (SavedFront savedFront : savedFronts) {
+            unloadedFronts.put(savedFront.chunkPos(), savedFront.joinedAt());
+        }
+    }
+
+    public void serverTick(ServerWorld world) {
+        if (SeetheManager.areSporesFluidized(world)) {
+            ++seetheTicks;
+        }
+        if (!loadedNearFront.isEmpty()) {
+            LongIterator iter = loadedNearFront.iterator();
+            while (iter.hasNext()) {
+                this.scanFrontEdges(world, new ChunkPos(iter.nextLong()));
+            }
+            loadedNearFront.clear();
+        }
+    }
+
+    // Called for every ticking chunk
+    public void tickChunk(ServerWorld world, WorldChunk chunk) {
+        if (!SeetheManager.areSporesFluidized(world)) {
+            return;
+        }
+        long chunkKey = chunk.getPos().toLong();
+        // Spread chunks out over the interval
+        if (Math.floorMod(seetheTicks + HashCommon.mix(chunkKey), ADVANCE_INTERVAL) != 0) {
+            return;
+        }
+
+        Long2LongMap front = fronts.get(chunkKey);
+        if (front == null) {
+            front = this.scanChunk(world, chunk);
+            fronts.put(chunkKey, front);
+        }
+        if (front.isEmpty()) {
+            return;
+        }
+
+        // Regenerating blocks changes the front, so collect them first
+        long regenerateBefore =
+                seetheTicks - world.getGameRules().getInt(ModGameRules.SPORE_REGENERATION_DELAY);
+        readyPositions.clear();
+        for (Long2LongMap.Entry entry : front.long2LongEntrySet()) {
+            if (entry.getLongValue() <= regenerateBefore) {
+                readyPositions.add(entry.getLongKey());
+            }
+        }
+        for (int i = 0; i < readyPositions.size(); ++i) {
+            this.regenerate(world, front, BlockPos.fromLong(readyPositions.getLong(i)),
+                    world.random);
+        }
+    }
+
+    private void regenerate(ServerWorld world, Long2LongMap front, BlockPos pos, Random random) {
+        if (!world.getBlockState(pos).isOf(ModBlocks.DEAD_SPORE_SEA)) {
+            front.remove(pos.asLong());
+            return;
+        }
+        BlockState livingState = this.pickLivingNeighbor(world, pos, random);
+        if (livingState == null) {
+            front.remove(pos.asLong());
+            return;
+        }
+        // Stays on the front until these conditions change
+        if (!world.getFluidState(pos).isStill() || SporeKillingUtil.isSporeKillingBlockNearby(
+                world, pos)) {
+            return;
+        }
+        // Updates the front through onBlockChanged()
+        world.setBlockState(pos, livingState);
+    }
+
+    public void onBlockChanged(World world, BlockPos pos, BlockState oldState,
+            BlockState newState) {
+        if (fronts.isEmpty() || world.isClient()) {
+            return;
+        }
+        boolean wasDead = oldState.isOf(ModBlocks.DEAD_SPORE_SEA);
+        boolean isDead = newState.isOf(ModBlocks.DEAD_SPORE_SEA);
+        boolean isLiving = newState.getFluidState().getFluid() instanceof LivingAetherSporeFluid;
+        if (!wasDead && !isDead && !isLiving) {
+            return;
+        }
+
+        if (wasDead || isDead) {
+            Long2LongMap front = fronts.get(ChunkPos.toLong(
+                    ChunkSectionPos.getSectionCoord(pos.getX()),
+                    ChunkSectionPos.getSectionCoord(pos.getZ())));
+            if (front != null) {
+                if (isDead && this.pickLivingNeighbor(world, pos, null) != null) {
+                    front.putIfAbsent(pos.asLong(), seetheTicks);
+                } else {
+                    front.remove(pos.asLong());
+                }
+            }
+        }
+
+        if (isLiving) {
+            // Dead neighbors join the front. Those that lose their last living neighbor are
+            // removed lazily when they try to regenerate.
+            for (int offsetX = -1; offsetX <= 1; ++offsetX) {
+                for (int offsetY = -1; offsetY <= 1; ++offsetY) {
+                    for (int offsetZ = -1; offsetZ <= 1; ++offsetZ) {
+                        mutable.set(pos.getX() + offsetX, pos.getY() + offsetY,
+                                pos.getZ() + offsetZ);
+                        Long2LongMap front = fronts.get(ChunkPos.toLong(
+                                ChunkSectionPos.getSectionCoord(mutable.getX()),
+                                ChunkSectionPos.getSectionCoord(mutable.getZ())));
+                        if (front == null) {
+                            continue;
+                        }
+                        BlockState neighborState = SporeRegenerationFront.getLoadedBlockState(
+                                world, mutable);
+                        if (neighborState != null && neighborState.isOf(ModBlocks.DEAD_SPORE_SEA)) {
+                            front.putIfAbsent(mutable.asLong(), seetheTicks);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void onChunkLoaded(WorldChunk chunk) {
+        ChunkPos chunkPos = chunk.getPos();
+        if (fronts.containsKey(ChunkPos.toLong(chunkPos.x - 1, chunkPos.z)) || fronts.containsKey(
+                ChunkPos.toLong(chunkPos.x + 1, chunkPos.z)) || fronts.containsKey(
+                ChunkPos.toLong(chunkPos.x, chunkPos.z - 1)) || fronts.containsKey(
+                ChunkPos.toLong(chunkPos.x, chunkPos.z + 1))) {
+            // The chunk may not be readable from the world yet, so wait until the end of the tick
+            loadedNearFront.add(chunkPos.toLong());
+        }
+    }
+
+    public void onChunkUnloaded(WorldChunk chunk) {
+        long chunkKey = chunk.getPos().toLong();
+        Long2LongMap front = fronts.remove(chunkKey);
+        loadedNearFront.remove(chunkKey);
+        if (front != null && !front.isEmpty()) {
+            unloadedFronts.put(chunkKey, SporeRegenerationFront.getEarliestJoinTime(front));
+        }
+    }
+
+    public int getFrontSize() {
+        int size = 0;
+        for (Long2LongMap front : fronts.values()) {
+            size += front.size();
+        }
+        return size;
+    }
+
+    private Long2LongMap scanChunk(ServerWorld world, WorldChunk chunk) {
+        Long2LongMap front = new Long2LongOpenHashMap();
+        ChunkPos chunkPos = chunk.getPos();
+        long chunkKey = chunkPos.toLong();
+        // Blocks are assumed to have stayed on the front while the chunk was unloaded
+        long joinedAt = unloadedFronts.containsKey(chunkKey) ? unloadedFronts.remove(chunkKey)
+                : seetheTicks;
+        this.scanArea(world, front, chunkPos.getStartX(), chunkPos.getStartZ(), chunkPos.getEndX(),
+                chunkPos.getEndZ(), joinedAt);
+        return front;
+    }
+
+    // Dead spore sea on the edges of neighboring fronts could not see into this chunk while it
+    // was unloaded
+    private void scanFrontEdges(ServerWorld world, ChunkPos chunkPos) {
+        if (world.getChunkManager().getWorldChunk(chunkPos.x, chunkPos.z) == null) {
+            return;
+        }
+        Long2LongMap westFront = fronts.get(ChunkPos.toLong(chunkPos.x - 1, chunkPos.z));
+        if (westFront != null) {
+            int x = chunkPos.getStartX() - 1;
+            this.scanArea(world, westFront, x, chunkPos.getStartZ(), x, chunkPos.getEndZ(),
+                    seetheTicks);
+        }
+        Long2LongMap eastFront = fronts.get(ChunkPos.toLong(chunkPos.x + 1, chunkPos.z));
+        if (eastFront != null) {
+            int x = chunkPos.getEndX() + 1;
+            this.scanArea(world, eastFront, x, chunkPos.getStartZ(), x, chunkPos.getEndZ(),
+                    seetheTicks);
+        }
+        Long2LongMap northFront = fronts.get(ChunkPos.toLong(chunkPos.x, chunkPos.z - 1));
+        if (northFront != null) {
+            int z = chunkPos.getStartZ() - 1;
+            this.scanArea(world, northFront, chunkPos.getStartX(), z, chunkPos.getEndX(), z,
+                    seetheTicks);
+        }
+        Long2LongMap southFront = fronts.get(ChunkPos.toLong(chunkPos.x, chunkPos.z + 1));
+        if (southFront != null) {
+            int z = chunkPos.getEndZ() + 1;
+            this.scanArea(world, southFront, chunkPos.getStartX(), z, chunkPos.getEndX(), z,
+                    seetheTicks);
+        }
+    }
+
+    // Adds all dead spore sea with a living neighbor in the given columns to the front
+    private void scanArea(ServerWorld world, Long2LongMap front, int minX, int minZ, int maxX,
+            int maxZ, long joinedAt) {
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        BlockIndexManager.get(world)
+                .getDeadSporeSeas()
+                .forEach(world, minX, world.getBottomY(), minZ, maxX, world.getTopYInclusive(),
+                        maxZ, (x, y, z, value) -> {
+                            pos.set(x, y, z);
+                            if (this.pickLivingNeighbor(world, pos, null) != null) {
+                                front.putIfAbsent(pos.asLong(), joinedAt);
+                            }
+                        });
+    }
+
+    // Unloaded fronts, plus the loaded ones as they would be saved if unloaded now
+    private List<SavedFront> getSavedFronts() {
+        List<SavedFront> savedFronts = new ArrayList<>(unloadedFronts.size() + fronts.size());
+        for (Long2LongMap.Entry entry : unloadedFronts.long2LongEntrySet()) {
+            savedFronts.add(new SavedFront(entry.getLongKey(), entry.getLongValue()));
+        }
+        for (Long2ObjectMap.Entry<Long2LongMap> entry : fronts.long2ObjectEntrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                savedFronts.add(new SavedFront(entry.getLongKey(),
+                        SporeRegenerationFront.getEarliestJoinTime(entry.getValue())));
+            }
+        }
+        return savedFronts;
+    }
+
+    private static long getEarliestJoinTime(Long2LongMap front) {
+        long earliest = Long.MAX_VALUE;
+        for (Long2LongMap.Entry entry : front.long2LongEntrySet()) {
+            earliest = Math.min(earliest, entry.getLongValue());
+        }
+        return earliest;
+    }
+
+    // Returns the block state of a living spore sea block in the surrounding 3x3x3 cube, chosen
+    // at random if a random is given. Neighbors in unloaded chunks are ignored.
+    @Nullable
+    private BlockState pickLivingNeighbor(World world, BlockPos pos, @Nullable Random random) {
+        BlockState picked = null;
+        int numLiving = 0;
+        for (int offsetX = -1; offsetX <= 1; ++offsetX) {
+            for (int offsetY = -1; offsetY <= 1; ++offsetY) {
+                for (int offsetZ = -1; offsetZ <= 1; ++offsetZ) {
+                    mutable.set(pos.getX() + offsetX, pos.getY() + offsetY, pos.getZ() + offsetZ);
+                    BlockState state = SporeRegenerationFront.getLoadedBlockState(world, mutable);
+                    if (state == null) {
+                        continue;
+                    }
+                    FluidState fluidState = state.getFluidState();
+                    if (!(fluidState.getFluid() instanceof LivingAetherSporeFluid)) {
+                        continue;
+                    }
+                    if (random == null) {
+                        return fluidState.getBlockState();
+                    }
+                    // Reservoir sampling, so each living neighbor is equally likely
+                    ++numLiving;
+                    if (random.nextInt(numLiving) == 0) {
+                        picked = fluidState.getBlockState();
+                    }
+                }
+            }
+        }
+        return picked;
+    }
+
+    // Avoids loading chunks while reacting to block changes
+    @Nullable
+    private static BlockState getLoadedBlockState(World world, BlockPos pos) {
+        WorldChunk chunk = world.getChunkManager()
+                .getWorldChunk(ChunkSectionPos.getSectionCoord(pos.getX()),
+                        ChunkSectionPos.getSectionCoord(pos.getZ()));
+        if (chunk == null) {
+            return null;
+        }
+        return chunk.getBlockState(pos);
+    }
+}
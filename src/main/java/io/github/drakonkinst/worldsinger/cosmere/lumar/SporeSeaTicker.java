@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.cosmere.lumar;
+
+import io.github.drakonkinst.worldsinger.fluid.LivingAetherSporeFluid;
+import io.github.drakonkinst.worldsinger.registry.ModGameRules;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos.Mutable;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.WorldChunk;
+
+// Replaces random ticks for living spore seas, which only ever do something in two places: at the
+// surface where rain can reach them, and next to dead spore sea during a seethe. Surface blocks
+// are found through the chunk's heightmap and ticked at the same rate as a random tick with the
+// sporeSeaTickSpeed game rule as the random tick speed. Regeneration is handled by
+// SporeRegenerationFront, so the rest of the sea costs nothing.
+public final class SporeSeaTicker {
+
+    private static final int SECTION_VOLUME_BITS = 12;
+    private static final int COLUMN_BITS = 8;
+
+    public static void tickChunk(ServerWorld world, WorldChunk chunk) {
+        SporeRegenerationFront.get(world).tickChunk(world, chunk);
+
+        int tickSpeed = world.getGameRules().getInt(ModGameRules.SPORE_SEA_TICK_SPEED);
+        if (tickSpeed <= 0) {
+            return;
+        }
+        Random random = world.random;
+        Mutable mutable = new Mutable();
+        SporeSeaTicker.tickSurface(world, chunk, tickSpeed, random, mutable);
+    }
+
+    // Each pick lands on one block of a 16x16x16 volume, like a random tick, but only blocks at
+    // the top of a column can be affected
+    private static void tickSurface(ServerWorld world, WorldChunk chunk, int tickSpeed,
+            Random random, Mutable mutable) {
+        ChunkPos chunkPos = chunk.getPos();
+        for (int i = 0; i < tickSpeed; ++i) {
+            int roll = random.nextInt(1 << SECTION_VOLUME_BITS);
+            if ((roll >> COLUMN_BITS) != 0) {
+                continue;
+            }
+            int x = chunkPos.getStartX() + (roll & 15);
+            int z = chunkPos.getStartZ() + ((roll >> 4) & 15);
+            int y = chunk.sampleHeightmap(Heightmap.Type.MOTION_BLOCKING, x, z);
+            mutable.set(x, y, z);
+            FluidState fluidState = world.getFluidState(mutable);
+            if (fluidState.getFluid() instanceof LivingAetherSporeFluid fluid) {
+                fluid.tickSurface(world, mutable.toImmutable(), fluidState, random);
+            }
+        }
+    }
+
+    private SporeSeaTicker() {}
+}
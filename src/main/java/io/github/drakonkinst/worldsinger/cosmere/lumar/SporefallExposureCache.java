@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.drakonkinst.worldsinger.cosmere.lumar;
+
+import io.github.drakonkinst.worldsinger.world.BlockIndexManager;
+import io.github.drakonkinst.worldsinger.world.SectionBlockIndex;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.Nullable;
+
+// Caches the result of the lunagree sporefall check for a single entity. The spore type is only
+// recomputed when the entity moves to a new block, when a lunagree is added around its cell, or
+// when spore-killing or investiture-blocking blocks change in the sections around it.
+public class SporefallExposureCache {
+
+    // Spore killers beyond this distance cannot affect the position. Investiture blockers between
+    // a killer and the position are at most one block further out.
+    private static final int KILLER_SEARCH_RADIUS = SporeKillingUtil.MAX_BLOCK_RADIUS;
+    private static final int BLOCKER_SEARCH_RADIUS = KILLER_SEARCH_RADIUS + 1;
+
+    private final NearestLunagreeQuery lunagreeQuery = new NearestLunagreeQuery();
+
+    private long blockPos;
+    private int sporeKillerStamp;
+    private int investitureBlockerStamp;
+    private int lunagreeVersion;
+    private boolean hasResult = false;
+    @Nullable
+    private AetherSpores sporeType;
+
+    // Returns the spore type falling on the given position, or null if there is none
+    @Nullable
+    public AetherSpores getSporeType(ServerWorld world, LunagreeGenerator generator,
+            BlockPos pos) {
+        long posLong = pos.asLong();
+        BlockIndexManager blockIndexManager = BlockIndexManager.get(world);
+        int currentSporeKillerStamp = SporefallExposureCache.getStampAround(world,
+                blockIndexManager.getSporeKillers(), pos, KILLER_SEARCH_RADIUS);
+        int currentInvestitureBlockerStamp = SporefallExposureCache.getStampAround(world,
+                blockIndexManager.getInvestitureBlockers(), pos, BLOCKER_SEARCH_RADIUS);
+        int currentLunagreeVersion = generator.getVersionNearKey(
+                generator.getKeyForPos(pos.getX(), pos.getZ()));
+        if (hasResult && posLong == blockPos && currentSporeKillerStamp == sporeKillerStamp
+                && currentInvestitureBlockerStamp == investitureBlockerStamp
+                && currentLunagreeVersion == lunagreeVersion) {
+            return sporeType;
+        }
+
+        blockPos = posLong;
+        sporeKillerStamp = currentSporeKillerStamp;
+        investitureBlockerStamp = currentInvestitureBlockerStamp;
+        lunagreeVersion = currentLunagreeVersion;
+        // Boxes touching unloaded chunks cannot be tracked, so check again next time
+        hasResult = currentSporeKillerStamp != SectionBlockIndex.UNTRACKED
+                && currentInvestitureBlockerStamp != SectionBlockIndex.UNTRACKED;
+        sporeType = this.calcSporeType(world, generator, pos);
+        return sporeType;
+    }
+
+    private static int getStampAround(ServerWorld world, SectionBlockIndex index, BlockPos pos,
+            int radius) {
+        return index.getStamp(world, pos.getX() - radius, pos.getY() - radius,
+                pos.getZ() - radius, pos.getX() + radius, pos.getY() + radius,
+                pos.getZ() + radius);
+    }
+
+    @Nullable
+    private AetherSpores calcSporeType(ServerWorld world, LunagreeGenerator generator,
+            BlockPos pos) {
+        LunagreeLocation nearestLocation = lunagreeQuery.find(world, generator, pos.getX(),
+                pos.getZ(), LumarLunagreeGenerator.SPORE_FALL_RADIUS);
+        if (nearestLocation == null) {
+            return null;
+        }
+        AetherSpores type = AetherSpores.getAetherSporeTypeById(nearestLocation.sporeId());
+        if (type == null || type.getId() == DeadSpores.ID
+                || SporeKillingUtil.isSporeKillingBlockNearby(world, pos)) {
+            return null;
+        }
+        return type;
+    }
+}
@@ -31,15 +31,12 @@ import io.github.drakonkinst.worldsinger.item.ModItems;
 import io.github.drakonkinst.worldsinger.registry.ModSoundEvents;
 import io.github.drakonkinst.worldsinger.util.BlockPosUtil;
 import io.github.drakonkinst.worldsinger.util.BoxUtil;
+import io.github.drakonkinst.worldsinger.util.FloodFill;
 import io.github.drakonkinst.worldsinger.util.ModConstants;
-import it.unimi.dsi.fastutil.ints.IntObjectImmutablePair;
-import it.unimi.dsi.fastutil.ints.IntObjectPair;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
-import java.util.ArrayDeque;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Queue;
 import java.util.Set;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
@@ -166,41 +163,24 @@ public class SunlightSpores extends AetherSpores {
             return affectedBlocks;
         }
 
-        LongSet visited = new LongOpenHashSet();
-        Queue<IntObjectPair<BlockPos>> queue = new ArrayDeque<>();
-        queue.add(new IntObjectImmutablePair<>(0, startPos));
-        visited.add(startPos.asLong());
-
-        while (!queue.isEmpty() && affectedBlocks.size() < maxBlocks) {
-            IntObjectPair<BlockPos> nextPair = queue.remove();
-            int depth = nextPair.leftInt();
-            BlockPos nextPos = nextPair.right();
+        // Neighbors are added in a random order
+        FloodFill.run(startPos, MAX_SUNLIGHT_SPREAD_DEPTH, random, (nextPos, depth) -> {
+            if (affectedBlocks.size() >= maxBlocks) {
+                return FloodFill.STOP;
+            }
             BlockState state = world.getBlockState(nextPos);
             if (this.canSunlightReplace(state)) {
                 // Replace with Sunlight
                 world.setBlockState(nextPos, ModBlocks.SUNLIGHT.getDefaultState());
-                affectedBlocks.add(nextPos);
+                affectedBlocks.add(nextPos.toImmutable());
             } else if (state.getFluidState().isOf(ModFluids.SUNLIGHT_SPORES)
                     && state.getBlock() instanceof FluidDrainable fluidDrainable) {
                 fluidDrainable.tryDrainFluid(null, world, nextPos, state);
             } else if (!this.canSunlightPassThrough(state)) {
-                continue;
-            }
-
-            if (depth >= MAX_SUNLIGHT_SPREAD_DEPTH) {
-                continue;
+                return FloodFill.SKIP;
             }
-
-            // Add neighbors
-            for (Direction direction : Direction.shuffle(random)) {
-                BlockPos neighborPos = nextPos.add(direction.getOffsetX(), direction.getOffsetY(),
-                        direction.getOffsetZ());
-                long encodedNeighborPos = neighborPos.asLong();
-                if (visited.add(encodedNeighborPos)) {
-                    queue.add(new IntObjectImmutablePair<>(depth + 1, neighborPos));
-                }
-            }
-        }
+            return FloodFill.EXPAND;
+        });
         return affectedBlocks;
     }
 
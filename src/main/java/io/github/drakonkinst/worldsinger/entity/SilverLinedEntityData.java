@@ -26,14 +26,18 @@ package io.github.drakonkinst.worldsinger.entity;
 
 import io.github.drakonkinst.worldsinger.api.sync.SyncableAttachment;
 import io.github.drakonkinst.worldsinger.cosmere.SilverLined;
-import net.minecraft.nbt.NbtCompound;
+import io.github.drakonkinst.worldsinger.cosmere.SilverLiningLevel;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.math.MathHelper;
 
 public abstract class SilverLinedEntityData implements SilverLined, SyncableAttachment {
 
     protected static final String KEY_SILVER_LINED = "silver_lined";
+    private static final int FIELD_SILVER_DURABILITY = 1;
 
     private int silverDurability = 0;
+    // Clients only display the silver lining level, so wear is only synced when it changes
+    private SilverLiningLevel syncedLevel = null;
 
     @Override
     public void setSilverDurability(int durability) {
@@ -45,13 +49,37 @@ public abstract class SilverLinedEntityData implements SilverLined, SyncableAtta
         return silverDurability;
     }
 
+    public SilverLiningLevel getSilverLiningLevel() {
+        return SilverLiningLevel.fromDurability(
+                (float) silverDurability / getMaxSilverDurability());
+    }
+
+    // Returns true if the visible silver lining level changed since the last time this was called
+    public boolean updateSyncedLevel() {
+        SilverLiningLevel level = getSilverLiningLevel();
+        if (level == syncedLevel) {
+            return false;
+        }
+        syncedLevel = level;
+        return true;
+    }
+
+    @Override
+    public int getAllFieldsMask() {
+        return FIELD_SILVER_DURABILITY;
+    }
+
     @Override
-    public void syncToNbt(NbtCompound nbt) {
-        nbt.putInt(KEY_SILVER_LINED, silverDurability);
+    public void writeSyncData(PacketByteBuf buf, int fieldMask) {
+        if ((fieldMask & FIELD_SILVER_DURABILITY) != 0) {
+            buf.writeVarInt(silverDurability);
+        }
     }
 
     @Override
-    public void syncFromNbt(NbtCompound nbt) {
-        silverDurability = nbt.getInt(KEY_SILVER_LINED, 0);
+    public void readSyncData(PacketByteBuf buf, int fieldMask) {
+        if ((fieldMask & FIELD_SILVER_DURABILITY) != 0) {
+            silverDurability = buf.readVarInt();
+        }
     }
 }
@@ -25,10 +25,15 @@
 package io.github.drakonkinst.worldsinger.entity.attachments;
 
 import io.github.drakonkinst.worldsinger.Worldsinger;
+import io.github.drakonkinst.worldsinger.cosmere.ReactionScheduler;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlineTracker;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.SporeGrowthForceSources;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.SporeRegenerationFront;
 import io.github.drakonkinst.worldsinger.entity.attachments.player.PlayerMidnightAetherBondManager;
 import io.github.drakonkinst.worldsinger.entity.attachments.player.PlayerOrigin;
 import io.github.drakonkinst.worldsinger.entity.attachments.player.PlayerPossessionManager;
 import io.github.drakonkinst.worldsinger.entity.attachments.player.PlayerThirstManager;
+import io.github.drakonkinst.worldsinger.entity.spore_growth.SporeGrowthScheduler;
 import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
 import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
 
@@ -55,6 +60,24 @@ public final class ModAttachmentTypes {
             builder -> builder.persistent(SilverLinedBoatData.CODEC)
                     .initializer(() -> new SilverLinedBoatData(0)));
 
+    // World persistent data
+    public static final AttachmentType<ReactionScheduler> REACTION_SCHEDULER = AttachmentRegistry.create(
+            Worldsinger.id("reaction_scheduler"),
+            builder -> builder.persistent(ReactionScheduler.CODEC)
+                    .initializer(ReactionScheduler::new));
+    public static final AttachmentType<SporeRegenerationFront> SPORE_REGENERATION_FRONT = AttachmentRegistry.create(
+            Worldsinger.id("spore_regeneration_front"),
+            builder -> builder.persistent(SporeRegenerationFront.CODEC)
+                    .initializer(SporeRegenerationFront::new));
+
+    // World non-persistent data
+    public static final AttachmentType<RainlineTracker> RAINLINE_TRACKER = AttachmentRegistry.createDefaulted(
+            Worldsinger.id("rainline_tracker"), RainlineTracker::new);
+    public static final AttachmentType<SporeGrowthScheduler> SPORE_GROWTH_SCHEDULER = AttachmentRegistry.createDefaulted(
+            Worldsinger.id("spore_growth_scheduler"), SporeGrowthScheduler::new);
+    public static final AttachmentType<SporeGrowthForceSources> SPORE_GROWTH_FORCE_SOURCES = AttachmentRegistry.createDefaulted(
+            Worldsinger.id("spore_growth_force_sources"), SporeGrowthForceSources::new);
+
     private ModAttachmentTypes() {}
 
     public static void initialize() {}
@@ -34,14 +34,14 @@ import it.unimi.dsi.fastutil.ints.Int2LongMap.Entry;
 import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.world.World;
 
 public class PlayerMidnightAetherBondManager implements MidnightAetherBondManager {
 
-    private static final String KEY_BOND_COUNT = "bond_count";
+    private static final int FIELD_BOND_COUNT = 1;
     private static final int EXPIRY_TIME = MidnightCreatureManager.MAX_DRAIN_INTERVAL_TICKS * 2;
     private static final int UPDATE_INTERVAL = 20;
 
@@ -127,12 +127,21 @@ public class PlayerMidnightAetherBondManager implements MidnightAetherBondManage
     }
 
     @Override
-    public void syncToNbt(NbtCompound nbt) {
-        nbt.putInt(KEY_BOND_COUNT, bondCount);
+    public int getAllFieldsMask() {
+        return FIELD_BOND_COUNT;
     }
 
     @Override
-    public void syncFromNbt(NbtCompound nbt) {
-        this.bondCount = nbt.getInt(KEY_BOND_COUNT, 0);
+    public void writeSyncData(PacketByteBuf buf, int fieldMask) {
+        if ((fieldMask & FIELD_BOND_COUNT) != 0) {
+            buf.writeVarInt(bondCount);
+        }
+    }
+
+    @Override
+    public void readSyncData(PacketByteBuf buf, int fieldMask) {
+        if ((fieldMask & FIELD_BOND_COUNT) != 0) {
+            this.bondCount = buf.readVarInt();
+        }
     }
 }
@@ -34,7 +34,7 @@ import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.Difficulty;
 
@@ -45,6 +45,7 @@ public class PlayerThirstManager implements ThirstManager {
     private static final String KEY_THIRST_LEVEL = "thirst_level";
     private static final String KEY_DEHYDRATION_LEVEL = "dehydration_level";
     private static final String KEY_DEHYDRATION_TICK_TIMER = "dehydration_tick_timer";
+    private static final int FIELD_THIRST_LEVEL = 1;
 
     public static final Codec<PlayerThirstManager> CODEC = RecordCodecBuilder.create(
             instance -> instance.group(
@@ -183,12 +184,21 @@ public class PlayerThirstManager implements ThirstManager {
     }
 
     @Override
-    public void syncToNbt(NbtCompound nbt) {
-        nbt.putInt(KEY_THIRST_LEVEL, thirstLevel);
+    public int getAllFieldsMask() {
+        return FIELD_THIRST_LEVEL;
     }
 
     @Override
-    public void syncFromNbt(NbtCompound nbt) {
-        thirstLevel = nbt.getInt(KEY_THIRST_LEVEL, MAX_THIRST_LEVEL);
+    public void writeSyncData(PacketByteBuf buf, int fieldMask) {
+        if ((fieldMask & FIELD_THIRST_LEVEL) != 0) {
+            buf.writeVarInt(thirstLevel);
+        }
+    }
+
+    @Override
+    public void readSyncData(PacketByteBuf buf, int fieldMask) {
+        if ((fieldMask & FIELD_THIRST_LEVEL) != 0) {
+            thirstLevel = buf.readVarInt();
+        }
     }
 }
@@ -25,9 +25,8 @@
 package io.github.drakonkinst.worldsinger.entity.rainline;
 
 import io.github.drakonkinst.worldsinger.block.WaterReactiveBlock;
-import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarManager;
-import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarManagerAccess;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlineSpawner;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlineTracker;
 import io.github.drakonkinst.worldsinger.fluid.WaterReactiveFluid;
 import io.github.drakonkinst.worldsinger.registry.tag.ModBlockTags;
 import net.minecraft.block.Block;
@@ -68,10 +67,16 @@ public class RainlineEntity extends Entity implements GeoEntity {
     }
 
     private RainlineBehavior rainlineBehavior;
+    // Set for path-following rainlines saved by older versions, which are now spawned as needed
+    private boolean shouldDiscard = false;
     private final AnimatableInstanceCache geoCache = GeckoLibUtil.createInstanceCache(this);
 
     @Override
     public void tick() {
+        if (shouldDiscard) {
+            this.discard();
+            return;
+        }
         super.tick();
         this.lastX = this.getX();
         this.lastY = this.getY();
@@ -79,6 +84,7 @@ public class RainlineEntity extends Entity implements GeoEntity {
         if (!this.getWorld().isClient()) {
             doServerTick();
         }
+        RainlineTracker.get(this.getWorld()).update(this);
     }
 
     private void doServerTick() {
@@ -120,7 +126,8 @@ public class RainlineEntity extends Entity implements GeoEntity {
         Profiler profiler = Profilers.get();
         profiler.push("randomTick");
         block.precipitationTick(blockState, world, mutable, Precipitation.RAIN);
-        if (fluidState.hasRandomTicks() && fluid instanceof WaterReactiveFluid) {
+        // Water reactive fluids handle random ticks even when they do not receive them naturally
+        if (fluid instanceof WaterReactiveFluid) {
             fluidState.onRandomTick(world, mutable, this.random);
         } else if (blockState.hasRandomTicks() && (block instanceof WaterReactiveBlock
                 || blockState.isIn(ModBlockTags.AFFECTED_BY_RAIN))) {
@@ -140,14 +147,19 @@ public class RainlineEntity extends Entity implements GeoEntity {
             return;
         }
 
-        LumarManager lumarManager = ((LumarManagerAccess) world).worldsinger$getLumarManager();
         boolean isFollowingPath = view.getBoolean(KEY_FOLLOWING_PATH, false);
         if (isFollowingPath) {
-            rainlineBehavior = RainlineFollowPathBehavior.readCustomData(lumarManager, view);
-        }
-        if (rainlineBehavior == null) {
-            rainlineBehavior = RainlineWanderBehavior.readCustomData(view, this.getRandom());
+            shouldDiscard = true;
         }
+        rainlineBehavior = RainlineWanderBehavior.readCustomData(view, this.getRandom());
+    }
+
+    // Path-following rainlines are spawned and despawned by the rainline spawner based on where
+    // players are, so they are never saved
+    @Override
+    public boolean shouldSave() {
+        return super.shouldSave() && (rainlineBehavior == null
+                || !rainlineBehavior.isFollowingPath());
     }
 
     @Override
@@ -26,42 +26,21 @@ package io.github.drakonkinst.worldsinger.entity.rainline;
 
 import io.github.drakonkinst.worldsinger.Worldsinger;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.AetherSpores;
-import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarManager;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlinePath;
 import io.github.drakonkinst.worldsinger.worldgen.lumar.LumarChunkGenerator;
 import io.github.drakonkinst.worldsinger.worldgen.lumar.LumarChunkGenerator.SporeSeaEntry;
 import it.unimi.dsi.fastutil.longs.LongByteImmutablePair;
 import it.unimi.dsi.fastutil.longs.LongBytePair;
-import java.util.Optional;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.storage.ReadView;
 import net.minecraft.storage.WriteView;
-import net.minecraft.util.math.Vec2f;
-import org.jetbrains.annotations.Nullable;
+import org.joml.Vector2f;
 
 public class RainlineFollowPathBehavior implements RainlineBehavior {
 
-    private static final String KEY_RAINLINE_ID = "rainline_id";
-    private static final String KEY_RAINLINE_INDEX = "rainline_index";
-
-    public static @Nullable RainlineFollowPathBehavior readCustomData(LumarManager manager,
-            ReadView view) {
-        Optional<Long> rainlineId = view.getOptionalLong(KEY_RAINLINE_ID);
-        if (rainlineId.isEmpty()) {
-            return null;
-        }
-        byte rainlineIndex = view.getByte(KEY_RAINLINE_INDEX, (byte) 0);
-        RainlinePath rainlinePath = manager.getRainlineManager()
-                .getRainlinePathById(rainlineId.get());
-        if (rainlinePath == null) {
-            return null;
-        }
-        return new RainlineFollowPathBehavior(rainlinePath, rainlineId.get(), rainlineIndex);
-    }
-
     private final RainlinePath rainlinePath;
     private final LongBytePair pathId;
     private final int stepOffset;
+    private final Vector2f newPos = new Vector2f();
 
     public RainlineFollowPathBehavior(RainlinePath rainlinePath, long id, byte index) {
         this.rainlinePath = rainlinePath;
@@ -79,7 +58,7 @@ public class RainlineFollowPathBehavior implements RainlineBehavior {
             entity.setRainlineBehavior(new RainlineWanderBehavior(entity.getRandom()));
             return;
         }
-        Vec2f newPos = rainlinePath.getRainlinePosition(world, stepOffset);
+        rainlinePath.getRainlinePosition(world, stepOffset, newPos);
         entity.setVelocity(0, 0, 0);
         entity.setPos(newPos.x, RainlineEntity.getTargetHeight(world), newPos.y);
     }
@@ -89,11 +68,9 @@ public class RainlineFollowPathBehavior implements RainlineBehavior {
         return true;
     }
 
+    // Path-following rainlines are never saved, see RainlineEntity#shouldSave()
     @Override
-    public void writeCustomData(WriteView view) {
-        view.putLong(KEY_RAINLINE_ID, pathId.firstLong());
-        view.putByte(KEY_RAINLINE_INDEX, pathId.secondByte());
-    }
+    public void writeCustomData(WriteView view) {}
 
     public LongBytePair getPathId() {
         return pathId;
@@ -154,9 +154,9 @@ public class CrimsonSporeGrowthEntity extends SporeGrowthEntity {
         if (stage == 0) {
             state = ModBlocks.CRIMSON_GROWTH.getDefaultState();
         } else if (stage == 1) {
-            if (lastDir.equals(primaryDirection)) {
+            if (this.getLastDir().equals(primaryDirection)) {
                 state = ModBlocks.CRIMSON_SPIKE.getDefaultState()
-                        .with(Properties.FACING, lastDir.toDirection(Direction.UP));
+                        .with(Properties.FACING, this.getLastDir().toDirection(Direction.UP));
             } else {
                 state = ModBlocks.CRIMSON_GROWTH.getDefaultState();
             }
@@ -170,7 +170,7 @@ public class CrimsonSporeGrowthEntity extends SporeGrowthEntity {
 
         if (state.contains(ModProperties.FLUIDLOGGED)) {
             int fluidloggedIndex = Fluidlogged.getFluidIndex(
-                    this.getWorld().getFluidState(this.getBlockPos()).getFluid());
+                    this.getWorld().getFluidState(this.getGrowthPos()).getFluid());
             state = state.with(ModProperties.FLUIDLOGGED, fluidloggedIndex);
         }
         if (this.shouldDrainWater() && state.contains(ModProperties.CATALYZED)) {
@@ -278,7 +278,7 @@ public class CrimsonSporeGrowthEntity extends SporeGrowthEntity {
 
         // Split branches
         if (this.getSpores() >= SPLIT_SPORE_MIN && this.getWater() >= SPLIT_WATER_MIN
-                && age < SPLIT_AGE_MAX) {
+                && this.getGrowthAge() < SPLIT_AGE_MAX) {
             this.createSplitBranch();
         }
     }
@@ -287,7 +287,7 @@ public class CrimsonSporeGrowthEntity extends SporeGrowthEntity {
         float proportion = 0.25f + random.nextFloat() * 0.25f;
         int numSpores = MathHelper.ceil(this.getSpores() * proportion);
         int numWater = MathHelper.ceil(this.getWater() * proportion);
-        Vec3d spawnPos = this.getBlockPos().toCenterPos();
+        Vec3d spawnPos = this.getGrowthPos().toCenterPos();
         CrimsonSpores.getInstance()
                 .spawnSporeGrowth(this.getWorld(), spawnPos, numSpores, numWater,
                         this.isInitialGrowth(), this.getStage() > 0, true, Int3.UP);
@@ -371,9 +371,9 @@ public class CrimsonSporeGrowthEntity extends SporeGrowthEntity {
             return;
         }
         Vector3f nextDirection;
-        if (!lastDir.isZero()) {
+        if (!this.getLastDir().isZero()) {
             nextDirection = CrimsonSporeGrowthEntity.randomizeDirectionFromCardinalDirection(
-                    lastDir);
+                    this.getLastDir());
         } else {
             nextDirection = CrimsonSporeGrowthEntity.randomizeDirectionFromCardinalDirection(
                     Int3.UP);
@@ -382,7 +382,7 @@ public class CrimsonSporeGrowthEntity extends SporeGrowthEntity {
     }
 
     private Int3 getNextDirectionForGrowthBlock(boolean allowPassthrough) {
-        BlockPos currPos = this.getBlockPos();
+        BlockPos currPos = this.getGrowthPos();
         float minDistanceSq = Float.MAX_VALUE;
         int minDistanceIndex = 0;
         World world = this.getWorld();
@@ -414,7 +414,7 @@ public class CrimsonSporeGrowthEntity extends SporeGrowthEntity {
     }
 
     private Int3 getNextDirectionForSpikeBlock(boolean allowPassthrough) {
-        BlockPos nextPos = this.getBlockPos()
+        BlockPos nextPos = this.getGrowthPos()
                 .add(primaryDirection.x(), primaryDirection.y(), primaryDirection.z());
         BlockState nextState = this.getWorld().getBlockState(nextPos);
         if (this.canBreakOrGrow(nextState, allowPassthrough)) {
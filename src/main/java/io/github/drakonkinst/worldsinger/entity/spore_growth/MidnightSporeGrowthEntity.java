@@ -88,7 +88,7 @@ public class MidnightSporeGrowthEntity extends SporeGrowthEntity {
 
         // Bonus for moving towards origin, keeping it in a clump
         int bonusDistanceFromOrigin =
-                this.getDistanceFromOrigin(this.getBlockPos()) - this.getDistanceFromOrigin(pos);
+                this.getDistanceFromOrigin(this.getGrowthPos()) - this.getDistanceFromOrigin(pos);
         weight += 50 * bonusDistanceFromOrigin;
 
         if (!allowPassthrough) {
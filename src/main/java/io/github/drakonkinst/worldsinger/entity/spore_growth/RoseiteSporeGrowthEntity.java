@@ -127,7 +127,7 @@ public class RoseiteSporeGrowthEntity extends SporeGrowthEntity {
 
         if (state.contains(ModProperties.FLUIDLOGGED)) {
             int fluidloggedIndex = Fluidlogged.getFluidIndex(
-                    this.getWorld().getFluidState(this.getBlockPos()).getFluid());
+                    this.getWorld().getFluidState(this.getGrowthPos()).getFluid());
             state = state.with(ModProperties.FLUIDLOGGED, fluidloggedIndex);
         }
         if (this.shouldDrainWater() && state.contains(ModProperties.CATALYZED)) {
@@ -137,7 +137,7 @@ public class RoseiteSporeGrowthEntity extends SporeGrowthEntity {
     }
 
     private BlockState getNextBaseBlock() {
-        BlockPos pos = this.getBlockPos();
+        BlockPos pos = this.getGrowthPos();
         World world = this.getWorld();
         BlockState state = world.getBlockState(pos);
         boolean doubleStep = random.nextInt(5) == 0;
@@ -190,7 +190,7 @@ public class RoseiteSporeGrowthEntity extends SporeGrowthEntity {
             }
             BlockHalf blockHalf = (slabType == SlabType.TOP) ? BlockHalf.TOP : BlockHalf.BOTTOM;
             Direction horizontalFacing = RoseiteSporeGrowthEntity.getHorizontalDirectionFromDir(
-                    lastDir.opposite());
+                    this.getLastDir().opposite());
             return ModBlocks.ROSEITE_STAIRS.getStateWithProperties(state)
                     .with(Properties.BLOCK_HALF, blockHalf)
                     .with(Properties.HORIZONTAL_FACING, horizontalFacing);
@@ -217,15 +217,15 @@ public class RoseiteSporeGrowthEntity extends SporeGrowthEntity {
         }
 
         BlockHalf blockHalf;
-        if (lastDir.y() > 0) {
+        if (this.getLastDir().y() > 0) {
             blockHalf = BlockHalf.TOP;
-        } else if (lastDir.y() < 0) {
+        } else if (this.getLastDir().y() < 0) {
             blockHalf = BlockHalf.BOTTOM;
         } else {
             blockHalf = random.nextBoolean() ? BlockHalf.TOP : BlockHalf.BOTTOM;
         }
         Direction horizontalFacing = RoseiteSporeGrowthEntity.getHorizontalDirectionFromDir(
-                lastDir);
+                this.getLastDir());
         return ModBlocks.ROSEITE_STAIRS.getStateWithProperties(state)
                 .with(Properties.BLOCK_HALF, blockHalf)
                 .with(Properties.HORIZONTAL_FACING, horizontalFacing);
@@ -233,7 +233,7 @@ public class RoseiteSporeGrowthEntity extends SporeGrowthEntity {
 
     @Override
     protected Int3 getNextDirection(boolean allowPassthrough) {
-        BlockPos currentPos = this.getBlockPos();
+        BlockPos currentPos = this.getGrowthPos();
         BlockState currentState = this.getWorld().getBlockState(currentPos);
         if (currentState.isIn(ModBlockTags.ROSEITE_GROWABLE)) {
             return Int3.ZERO;
@@ -276,7 +276,7 @@ public class RoseiteSporeGrowthEntity extends SporeGrowthEntity {
         }
 
         // Heavy penalty for going in the same direction to encourage curved paths
-        if (direction.equals(lastDir)) {
+        if (direction.equals(this.getLastDir())) {
             return 5;
         }
 
@@ -288,7 +288,7 @@ public class RoseiteSporeGrowthEntity extends SporeGrowthEntity {
 
         // Bonus for moving towards origin, keeping it in a clump
         int bonusDistanceFromOrigin =
-                this.getDistanceFromOrigin(this.getBlockPos()) - this.getDistanceFromOrigin(pos);
+                this.getDistanceFromOrigin(this.getGrowthPos()) - this.getDistanceFromOrigin(pos);
         weight += 50 * bonusDistanceFromOrigin;
 
         if (!allowPassthrough) {
@@ -0,0 +1,254 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.entity.spore_growth;
+
+import io.github.drakonkinst.worldsinger.util.math.Int3;
+import java.util.Arrays;
+import net.minecraft.util.math.BlockPos;
+
+// The per-tick state of every spore growth in a world, held in parallel primitive arrays so the
+// scheduler can step them in one pass. Each growth entity is a view onto its slot, and is otherwise
+// only used to save the growth and give it a place in the world.
+final class SporeGrowthAgents {
+
+    // Marks a growth that has not been placed in the world yet
+    static final long UNPLACED = Long.MAX_VALUE;
+
+    private static final int INITIAL_CAPACITY = 16;
+    // Directions are always unit offsets, so they are stored as an index into Int3.DIAGONAL_3D
+    private static final int ZERO_DIR_INDEX = SporeGrowthAgents.toDirIndex(Int3.ZERO);
+
+    // Holds the state of a growth that is not in a scheduler, either because it has not ticked yet
+    // or because it has been removed, so its entity can still be queried
+    static SporeGrowthAgents standalone() {
+        SporeGrowthAgents agents = new SporeGrowthAgents(1);
+        agents.add(null);
+        return agents;
+    }
+
+    // Copies the state of one growth into its own standalone agents
+    static SporeGrowthAgents copyOf(SporeGrowthAgents from, int fromSlot) {
+        SporeGrowthAgents agents = new SporeGrowthAgents(1);
+        agents.adopt(null, from, fromSlot);
+        return agents;
+    }
+
+    private static int toDirIndex(Int3 direction) {
+        Int3 signs = direction.toSigns();
+        return (signs.x() + 1) * 9 + (signs.y() + 1) * 3 + (signs.z() + 1);
+    }
+
+    private SporeGrowthEntity[] entities;
+    private long[] positions;
+    private int[] water;
+    private int[] spores;
+    private short[] stages;
+    private byte[] lastDirs;
+    private byte[] placeAttempts;
+    private int[] ages;
+    // Ticks the growth has been scheduled for but not yet simulated
+    private int[] owedTicks;
+    private int size = 0;
+
+    SporeGrowthAgents() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private SporeGrowthAgents(int capacity) {
+        entities = new SporeGrowthEntity[capacity];
+        positions = new long[capacity];
+        water = new int[capacity];
+        spores = new int[capacity];
+        stages = new short[capacity];
+        lastDirs = new byte[capacity];
+        placeAttempts = new byte[capacity];
+        ages = new int[capacity];
+        owedTicks = new int[capacity];
+    }
+
+    int add(SporeGrowthEntity entity) {
+        if (size == entities.length) {
+            this.grow(size * 2);
+        }
+        int slot = size++;
+        entities[slot] = entity;
+        positions[slot] = UNPLACED;
+        water[slot] = 0;
+        spores[slot] = 0;
+        stages[slot] = 0;
+        lastDirs[slot] = (byte) ZERO_DIR_INDEX;
+        placeAttempts[slot] = 0;
+        ages[slot] = 0;
+        owedTicks[slot] = 0;
+        return slot;
+    }
+
+    // Moves a growth into these agents, returning its new slot
+    int adopt(SporeGrowthEntity entity, SporeGrowthAgents from, int fromSlot) {
+        int slot = this.add(entity);
+        positions[slot] = from.positions[fromSlot];
+        water[slot] = from.water[fromSlot];
+        spores[slot] = from.spores[fromSlot];
+        stages[slot] = from.stages[fromSlot];
+        lastDirs[slot] = from.lastDirs[fromSlot];
+        placeAttempts[slot] = from.placeAttempts[fromSlot];
+        ages[slot] = from.ages[fromSlot];
+        owedTicks[slot] = from.owedTicks[fromSlot];
+        return slot;
+    }
+
+    // The slot is reclaimed the next time the agents are compacted
+    void remove(int slot) {
+        entities[slot] = null;
+    }
+
+    // Moves all live growths to the front while keeping their order, returning the new index of
+    // the given slot (or of the next live growth after it)
+    int compact(int trackedSlot) {
+        int newTrackedSlot = -1;
+        int next = 0;
+        for (int slot = 0; slot < size; ++slot) {
+            if (slot == trackedSlot) {
+                newTrackedSlot = next;
+            }
+            SporeGrowthEntity entity = entities[slot];
+            if (entity == null) {
+                continue;
+            }
+            if (slot != next) {
+                entities[next] = entity;
+                positions[next] = positions[slot];
+                water[next] = water[slot];
+                spores[next] = spores[slot];
+                stages[next] = stages[slot];
+                lastDirs[next] = lastDirs[slot];
+                placeAttempts[next] = placeAttempts[slot];
+                ages[next] = ages[slot];
+                owedTicks[next] = owedTicks[slot];
+                entity.setAgentSlot(next);
+            }
+            ++next;
+        }
+        Arrays.fill(entities, next, size, null);
+        size = next;
+        if (newTrackedSlot < 0 || newTrackedSlot >= size) {
+            return 0;
+        }
+        return newTrackedSlot;
+    }
+
+    int size() {
+        return size;
+    }
+
+    SporeGrowthEntity getEntity(int slot) {
+        return entities[slot];
+    }
+
+    long getPos(int slot) {
+        return positions[slot];
+    }
+
+    void setPos(int slot, BlockPos pos) {
+        positions[slot] = pos.asLong();
+    }
+
+    void move(int slot, Int3 direction) {
+        positions[slot] = BlockPos.add(positions[slot], direction.x(), direction.y(),
+                direction.z());
+    }
+
+    int getWater(int slot) {
+        return water[slot];
+    }
+
+    void setWater(int slot, int value) {
+        water[slot] = value;
+    }
+
+    int getSpores(int slot) {
+        return spores[slot];
+    }
+
+    void setSpores(int slot, int value) {
+        spores[slot] = value;
+    }
+
+    int getStage(int slot) {
+        return stages[slot];
+    }
+
+    void setStage(int slot, int value) {
+        stages[slot] = (short) value;
+    }
+
+    Int3 getLastDir(int slot) {
+        return Int3.DIAGONAL_3D.get(lastDirs[slot]);
+    }
+
+    void setLastDir(int slot, Int3 direction) {
+        lastDirs[slot] = (byte) SporeGrowthAgents.toDirIndex(direction);
+    }
+
+    int getPlaceAttempts(int slot) {
+        return placeAttempts[slot];
+    }
+
+    void setPlaceAttempts(int slot, int value) {
+        placeAttempts[slot] = (byte) value;
+    }
+
+    int getAge(int slot) {
+        return ages[slot];
+    }
+
+    void incrementAge(int slot) {
+        ++ages[slot];
+    }
+
+    int getOwedTicks(int slot) {
+        return owedTicks[slot];
+    }
+
+    void addOwedTick(int slot) {
+        ++owedTicks[slot];
+    }
+
+    void consumeOwedTick(int slot) {
+        --owedTicks[slot];
+    }
+
+    private void grow(int capacity) {
+        entities = Arrays.copyOf(entities, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        water = Arrays.copyOf(water, capacity);
+        spores = Arrays.copyOf(spores, capacity);
+        stages = Arrays.copyOf(stages, capacity);
+        lastDirs = Arrays.copyOf(lastDirs, capacity);
+        placeAttempts = Arrays.copyOf(placeAttempts, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        owedTicks = Arrays.copyOf(owedTicks, capacity);
+    }
+}
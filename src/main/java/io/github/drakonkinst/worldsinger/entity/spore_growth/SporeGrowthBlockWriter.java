@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.entity.spore_growth;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
+import it.unimi.dsi.fastutil.shorts.Short2ObjectMaps;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+
+// Places the blocks of spore growths while holding back their neighbor updates until the end of
+// the scheduler's pass. A growth often writes the same block several times in a tick, and its
+// blocks sit next to each other, so each changed block notifies its neighbors once, section by
+// section, instead of on every write. Clients and shape updates are still notified immediately.
+final class SporeGrowthBlockWriter {
+
+    // Changed positions in each section, mapped to the block that was there before the first write
+    private final Long2ObjectLinkedOpenHashMap<Short2ObjectLinkedOpenHashMap<Block>> changedBlocks =
+            new Long2ObjectLinkedOpenHashMap<>();
+    private final BlockPos.Mutable mutable = new BlockPos.Mutable();
+    private int writeCount = 0;
+
+    boolean setBlockState(World world, BlockPos pos, BlockState state) {
+        Block previousBlock = world.getBlockState(pos).getBlock();
+        if (!world.setBlockState(pos, state, Block.NOTIFY_LISTENERS)) {
+            return false;
+        }
+        ++writeCount;
+        changedBlocks.computeIfAbsent(ChunkSectionPos.toLong(pos),
+                        key -> new Short2ObjectLinkedOpenHashMap<>())
+                .putIfAbsent(ChunkSectionPos.packLocal(pos), previousBlock);
+        return true;
+    }
+
+    // Total number of blocks written, used by the scheduler to enforce its budget
+    int getWriteCount() {
+        return writeCount;
+    }
+
+    void flush(World world) {
+        while (!changedBlocks.isEmpty()) {
+            ChunkSectionPos section = ChunkSectionPos.from(changedBlocks.firstLongKey());
+            Short2ObjectLinkedOpenHashMap<Block> sectionChanges = changedBlocks.removeFirst();
+            for (Short2ObjectMap.Entry<Block> entry : Short2ObjectMaps.fastIterable(
+                    sectionChanges)) {
+                short packedLocal = entry.getShortKey();
+                mutable.set(section.unpackBlockX(packedLocal), section.unpackBlockY(packedLocal),
+                        section.unpackBlockZ(packedLocal));
+                // Same updates as a regular setBlockState() call, done once per changed block
+                world.updateNeighbors(mutable, entry.getValue());
+                BlockState state = world.getBlockState(mutable);
+                if (state.hasComparatorOutput()) {
+                    world.updateComparators(mutable, state.getBlock());
+                }
+            }
+        }
+    }
+}
@@ -31,8 +31,6 @@ import io.github.drakonkinst.worldsinger.registry.tag.ModBlockTags;
 import io.github.drakonkinst.worldsinger.util.ModConstants;
 import io.github.drakonkinst.worldsinger.util.ModProperties;
 import io.github.drakonkinst.worldsinger.util.math.Int3;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntList;
 import java.util.ArrayList;
 import java.util.List;
 import net.minecraft.block.BlockState;
@@ -95,16 +93,19 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
     }
 
     // NBT data
-    private int waterRemaining;
-    private int sporesRemaining;
-    private int stage = 0;
     private boolean isInitialGrowth;
     private BlockPos origin;
 
+    // Growth state is kept in the scheduler's agents once this entity starts ticking, and in its
+    // own standalone agents before then and after it is removed
+    private SporeGrowthAgents agents = SporeGrowthAgents.standalone();
+    private int agentSlot = 0;
+    private SporeGrowthScheduler scheduler = null;
+
     // Volatile data
     private final Vector3d currentForceDir = new Vector3d();
-    protected Int3 lastDir = Int3.ZERO;
-    private int placeAttempts = 0;
+    private final Int3[] candidateDirections = new Int3[DIRECTION_ARRAY_SIZE];
+    private final int[] candidateWeights = new int[DIRECTION_ARRAY_SIZE];
     private BlockPos lastPos = null;
     private double currentForceMagnitude = 0.0;
 
@@ -153,10 +154,10 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
 
     @Override
     protected void readCustomData(ReadView view) {
-        this.waterRemaining = view.getInt(WATER_REMAINING_KEY, 0);
-        this.sporesRemaining = view.getInt(SPORES_REMAINING_KEY, 0);
+        agents.setWater(agentSlot, view.getInt(WATER_REMAINING_KEY, 0));
+        agents.setSpores(agentSlot, view.getInt(SPORES_REMAINING_KEY, 0));
         this.isInitialGrowth = view.getBoolean(INITIAL_GROWTH_KEY, false);
-        this.stage = view.getShort(STAGE_KEY, (short) 0);
+        agents.setStage(agentSlot, view.getShort(STAGE_KEY, (short) 0));
         view.getOptionalInt(ORIGIN_X_KEY).ifPresent(x -> {
             int y = view.getInt(ORIGIN_Y_KEY, 0);
             int z = view.getInt(ORIGIN_Z_KEY, 0);
@@ -166,10 +167,10 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
 
     @Override
     protected void writeCustomData(WriteView view) {
-        view.putInt(WATER_REMAINING_KEY, this.waterRemaining);
-        view.putInt(SPORES_REMAINING_KEY, this.sporesRemaining);
+        view.putInt(WATER_REMAINING_KEY, this.getWater());
+        view.putInt(SPORES_REMAINING_KEY, this.getSpores());
         view.putBoolean(INITIAL_GROWTH_KEY, this.isInitialGrowth);
-        view.putShort(STAGE_KEY, (short) this.stage);
+        view.putShort(STAGE_KEY, (short) this.getStage());
         if (this.origin != null) {
             view.putInt(ORIGIN_X_KEY, this.origin.getX());
             view.putInt(ORIGIN_Y_KEY, this.origin.getY());
@@ -183,15 +184,78 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
             this.setOrigin(this.getBlockPos());
         }
 
-        if (!this.getWorld().isClient()) {
+        // Growth is stepped by the world's scheduler, which limits how much can grow each tick
+        if (this.getWorld() instanceof ServerWorld serverWorld) {
+            SporeGrowthScheduler.get(serverWorld).schedule(this);
+        }
+    }
+
+    @Override
+    public void setRemoved(RemovalReason reason) {
+        super.setRemoved(reason);
+        // Keep the growth's state readable, but stop the scheduler from stepping it
+        if (scheduler != null) {
+            SporeGrowthAgents standalone = SporeGrowthAgents.copyOf(agents, agentSlot);
+            agents.remove(agentSlot);
+            agents = standalone;
+            agentSlot = 0;
+            scheduler = null;
+        }
+    }
+
+    // Called by the scheduler. Simulates the ticks this growth is owed until it places the given
+    // number of blocks, returning the number of blocks placed.
+    int tickGrowth(SporeGrowthBlockWriter blockWriter, int blockBudget) {
+        int startCount = blockWriter.getWriteCount();
+        while (agents.getOwedTicks(agentSlot) > 0
+                && blockWriter.getWriteCount() - startCount < blockBudget) {
+            // Growths only age for ticks that are simulated, so deferred ones don't lose time
+            agents.consumeOwedTick(agentSlot);
+            agents.incrementAge(agentSlot);
             if (this.shouldBeDead()) {
                 if (this.getSpores() > 0) {
                     this.onEarlyDiscard();
                 }
                 this.discard();
-            } else {
-                this.grow();
+                break;
             }
+            this.grow();
+        }
+        if (!this.isRemoved()) {
+            this.syncPosition();
+        }
+        return blockWriter.getWriteCount() - startCount;
+    }
+
+    boolean isScheduled() {
+        return scheduler != null;
+    }
+
+    void joinScheduler(SporeGrowthScheduler scheduler, SporeGrowthAgents schedulerAgents) {
+        if (agents.getPos(agentSlot) == SporeGrowthAgents.UNPLACED) {
+            agents.setPos(agentSlot, this.getBlockPos());
+        }
+        agentSlot = schedulerAgents.adopt(this, agents, agentSlot);
+        agents = schedulerAgents;
+        this.scheduler = scheduler;
+    }
+
+    void setAgentSlot(int slot) {
+        agentSlot = slot;
+    }
+
+    void addOwedTick() {
+        agents.addOwedTick(agentSlot);
+    }
+
+    // The growth moves block by block in its agent state, and the entity follows once per tick
+    private void syncPosition() {
+        BlockPos growthPos = this.getGrowthPos();
+        BlockPos blockPos = this.getBlockPos();
+        if (!growthPos.equals(blockPos)) {
+            this.setPosition(this.getPos()
+                    .add(growthPos.getX() - blockPos.getX(), growthPos.getY() - blockPos.getY(),
+                            growthPos.getZ() - blockPos.getZ()));
         }
     }
 
@@ -202,7 +266,7 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
 
     // Called if entity was killed but still has spores remaining
     private void onEarlyDiscard() {
-        BlockPos pos = this.getBlockPos();
+        BlockPos pos = this.getGrowthPos();
         Mutable mutable = pos.mutableCopy();
         World world = this.getWorld();
         // Reset CATALYZED state for self and all neighboring blocks
@@ -212,40 +276,41 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
         }
     }
 
-    // Performs a tick's worth of growth.
+    // Performs a tick's worth of growth
     private void grow() {
         int growthDelay = this.getGrowthDelay();
         if (growthDelay > 0) {
             // Slower growths update once every few ticks
-            if ((age + this.getId()) % growthDelay == 0) {
+            if ((this.getGrowthAge() + this.getId()) % growthDelay == 0) {
                 if (this.shouldRecalculateForces()) {
                     this.recalculateForces();
                 }
                 this.doGrowStep();
             }
-        } else {
-            // Faster growths update multiple times in the same tick
-            // Only recalculate forces once per tick, leading to less precision when moving quickly
-            if (this.shouldRecalculateForces()) {
-                this.recalculateForces();
-            }
-            for (int i = 0; i < -growthDelay; ++i) {
-                this.doGrowStep();
-            }
+            return;
+        }
+        // Faster growths update multiple times in the same tick
+        // Only recalculate forces once per tick, leading to less precision when moving quickly
+        if (this.shouldRecalculateForces()) {
+            this.recalculateForces();
+        }
+        for (int i = 0; i < -growthDelay; ++i) {
+            this.doGrowStep();
         }
     }
 
     // Spore Growth Entities should die if past the maximum stage, if out of spores or water, if
     // maximum age is reached, and if it fails to place a block too many times in a row
     private boolean shouldBeDead() {
-        return this.getStage() > this.getMaxStage() || this.getSpores() <= 0 || age > MAX_AGE_TICKS
-                || placeAttempts >= MAX_PLACE_ATTEMPTS || this.getWater() <= 0;
+        return this.getStage() > this.getMaxStage() || this.getSpores() <= 0
+                || this.getGrowthAge() > MAX_AGE_TICKS
+                || agents.getPlaceAttempts(agentSlot) >= MAX_PLACE_ATTEMPTS || this.getWater() <= 0;
     }
 
     // Calculates external forces like Steel and Iron
     private void recalculateForces() {
-        if (lastPos == null || !lastPos.equals(this.getBlockPos())) {
-            BlockPos pos = this.getBlockPos();
+        BlockPos pos = this.getGrowthPos();
+        if (lastPos == null || !lastPos.equals(pos)) {
             SporeGrowthMovement.calcExternalForce(this.getWorld(), pos, currentForceDir);
             currentForceMagnitude = currentForceDir.length();
             if (currentForceMagnitude > 0.0) {
@@ -258,7 +323,7 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
     // Performs a single grow step, which usually places a single block
     private void doGrowStep() {
         World world = this.getWorld();
-        BlockPos pos = this.getBlockPos();
+        BlockPos pos = this.getGrowthPos();
 
         // Drain spores rapidly if near a spore-killing block
         if (SporeKillingUtil.isSporeKillingBlockNearby(world, pos)) {
@@ -278,11 +343,11 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
         boolean result = this.attemptGrowBlock(this.getNextBlock());
         if (result) {
             this.shiftBlock(this.getNextDirection(false));
-            placeAttempts = 0;
+            agents.setPlaceAttempts(agentSlot, 0);
         } else {
             Int3 direction = this.getNextDirection(true);
             if (direction.isZero()) {
-                placeAttempts++;
+                agents.setPlaceAttempts(agentSlot, agents.getPlaceAttempts(agentSlot) + 1);
             } else {
                 this.shiftBlock(direction);
             }
@@ -293,7 +358,7 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
         if (state == null) {
             return false;
         }
-        BlockPos blockPos = this.getBlockPos();
+        BlockPos blockPos = this.getGrowthPos();
         BlockState originalState = this.getWorld().getBlockState(blockPos);
         if (this.canBreakHere(originalState)) {
             SporeGrowthEntity.breakBlockFromSporeGrowth(this.getWorld(), blockPos, this);
@@ -310,35 +375,38 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
         if (direction.isZero()) {
             return;
         }
-        Vec3d pos = this.getPos();
-        this.setPosition(pos.add(direction.x(), direction.y(), direction.z()));
+        if (this.isScheduled()) {
+            agents.move(agentSlot, direction);
+        } else {
+            this.setPosition(this.getPos().add(direction.x(), direction.y(), direction.z()));
+        }
         this.setLastDir(direction);
     }
 
     // Set the block only, let each block handle its own grow effects in onGrowBlock()
     private boolean growBlock(BlockState state, BlockState originalState) {
-        BlockPos pos = this.getBlockPos();
-        boolean success = this.getWorld().setBlockState(pos, state);
+        BlockPos pos = this.getGrowthPos();
+        boolean success = this.setGrowthBlock(pos, state);
         if (success) {
             this.onGrowBlock(pos, state, originalState);
         }
         return success;
     }
 
-    private Int3 chooseWeighted(List<Int3> candidates, IntList weights, int weightSum) {
-        if (candidates.isEmpty()) {
+    private Int3 chooseWeighted(int numCandidates, int weightSum) {
+        if (numCandidates == 0) {
             return Int3.ZERO;
         }
-        if (candidates.size() == 1) {
-            return candidates.get(0);
+        if (numCandidates == 1) {
+            return candidateDirections[0];
         }
 
         int currentWeight = 0;
         int targetWeight = random.nextInt(weightSum);
-        for (int i = 0; i < candidates.size(); ++i) {
-            currentWeight += weights.getInt(i);
+        for (int i = 0; i < numCandidates; ++i) {
+            currentWeight += candidateWeights[i];
             if (currentWeight >= targetWeight) {
-                return candidates.get(i);
+                return candidateDirections[i];
             }
         }
         return Int3.ZERO;
@@ -355,14 +423,14 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
     /* External Methods */
 
     public void setWater(int water) {
-        if (this.waterRemaining < Integer.MAX_VALUE) {
-            this.waterRemaining = Math.max(0, water);
+        if (this.getWater() < Integer.MAX_VALUE) {
+            agents.setWater(agentSlot, Math.max(0, water));
         }
     }
 
     public void setSpores(int spores) {
-        if (this.sporesRemaining < Integer.MAX_VALUE) {
-            this.sporesRemaining = Math.max(0, spores);
+        if (this.getSpores() < Integer.MAX_VALUE) {
+            agents.setSpores(agentSlot, Math.max(0, spores));
         }
     }
 
@@ -381,7 +449,7 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
     public void setLastDir(Int3 lastDir) {
         // lastDir is initialized at zero, but cannot become zero again.
         if (!lastDir.isZero()) {
-            this.lastDir = lastDir;
+            agents.setLastDir(agentSlot, lastDir);
         }
     }
 
@@ -391,27 +459,27 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
     // Can be overridden to skip this logic entirely
     protected Int3 getNextDirection(boolean allowPassthrough) {
         World world = this.getWorld();
-        BlockPos pos = this.getBlockPos();
+        BlockPos pos = this.getGrowthPos();
         Mutable mutable = new Mutable();
-        List<Int3> candidates = new ArrayList<>(DIRECTION_ARRAY_SIZE);
-        IntList weights = new IntArrayList(DIRECTION_ARRAY_SIZE);
+        Int3 oppositeDir = this.getLastDir().opposite();
+        int numCandidates = 0;
         int weightSum = 0;
         for (Int3 direction : Int3.CARDINAL_3D) {
-            if (direction.isZero() || direction.equals(lastDir.opposite())) {
+            if (direction.isZero() || direction.equals(oppositeDir)) {
                 continue;
             }
             mutable.set(pos.getX() + direction.x(), pos.getY() + direction.y(),
                     pos.getZ() + direction.z());
             int weight = this.getWeight(world, mutable, direction, allowPassthrough);
             if (weight > 0) {
-                candidates.add(direction);
-                weights.add(weight);
+                candidateDirections[numCandidates] = direction;
+                candidateWeights[numCandidates] = weight;
+                ++numCandidates;
                 weightSum += weight;
             }
         }
 
-        Int3 nextDirection = chooseWeighted(candidates, weights, weightSum);
-        return nextDirection;
+        return chooseWeighted(numCandidates, weightSum);
     }
 
     protected void drainSpores(int cost) {
@@ -424,7 +492,7 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
 
     protected void addStage(int stageIncrement) {
         if (stageIncrement > 0) {
-            this.stage += (short) stageIncrement;
+            agents.setStage(agentSlot, this.getStage() + stageIncrement);
         }
     }
 
@@ -463,7 +531,7 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
         }
 
         List<Direction> validDirections = new ArrayList<>(6);
-        BlockPos pos = this.getBlockPos();
+        BlockPos pos = this.getGrowthPos();
         Mutable mutable = new Mutable();
         for (Direction direction : ModConstants.CARDINAL_DIRECTIONS) {
             mutable.set(pos.offset(direction));
@@ -488,7 +556,7 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
 
     protected boolean placeBlockWithEffects(BlockPos pos, BlockState state, int cost,
             boolean drainsWater, boolean showParticles, boolean playSound) {
-        boolean success = this.getWorld().setBlockState(pos, state);
+        boolean success = this.setGrowthBlock(pos, state);
 
         if (success) {
             this.doGrowEffects(pos, state, cost, drainsWater, showParticles, playSound);
@@ -517,18 +585,46 @@ public abstract class SporeGrowthEntity extends ServerSideEntity {
         return pos.getManhattanDistance(this.getOrigin());
     }
 
+    // Places blocks through the scheduler, which counts them against its budget and batches their
+    // neighbor updates
+    private boolean setGrowthBlock(BlockPos pos, BlockState state) {
+        if (scheduler != null) {
+            return scheduler.getBlockWriter().setBlockState(this.getWorld(), pos, state);
+        }
+        return this.getWorld().setBlockState(pos, state);
+    }
+
     /* Getters */
 
     public int getWater() {
-        return waterRemaining;
+        return agents.getWater(agentSlot);
     }
 
     public int getSpores() {
-        return sporesRemaining;
+        return agents.getSpores(agentSlot);
     }
 
     public int getStage() {
-        return stage;
+        return agents.getStage(agentSlot);
+    }
+
+    // The block the growth is currently at. Can be ahead of the entity's position during the
+    // scheduler's pass.
+    public BlockPos getGrowthPos() {
+        long pos = agents.getPos(agentSlot);
+        if (pos == SporeGrowthAgents.UNPLACED) {
+            return this.getBlockPos();
+        }
+        return BlockPos.fromLong(pos);
+    }
+
+    public Int3 getLastDir() {
+        return agents.getLastDir(agentSlot);
+    }
+
+    // Number of ticks the growth has simulated, which can lag behind the entity's age
+    public int getGrowthAge() {
+        return agents.getAge(agentSlot);
     }
 
     public boolean isInitialGrowth() {
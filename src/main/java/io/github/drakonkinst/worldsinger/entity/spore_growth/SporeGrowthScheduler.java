@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.entity.spore_growth;
+
+import io.github.drakonkinst.worldsinger.entity.attachments.ModAttachmentTypes;
+import io.github.drakonkinst.worldsinger.registry.ModGameRules;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+
+// Steps all spore growths in a world in one batch at the end of each tick, instead of each growth
+// entity growing during its own tick. The number of blocks placed per tick is capped, so a large
+// reaction spreads its work over several ticks instead of stalling the server. Each growth keeps
+// count of the ticks it is owed, so growths that do not fit in the budget catch up later without
+// aging in the meantime, and the next tick resumes where this one stopped.
+@SuppressWarnings("UnstableApiUsage")
+public class SporeGrowthScheduler {
+
+    public static SporeGrowthScheduler get(World world) {
+        return world.getAttachedOrCreate(ModAttachmentTypes.SPORE_GROWTH_SCHEDULER);
+    }
+
+    private final SporeGrowthAgents agents = new SporeGrowthAgents();
+    private final SporeGrowthBlockWriter blockWriter = new SporeGrowthBlockWriter();
+    private int cursor = 0;
+
+    // Called every tick by each spore growth entity
+    void schedule(SporeGrowthEntity entity) {
+        if (!entity.isScheduled()) {
+            entity.joinScheduler(this, agents);
+        }
+        entity.addOwedTick();
+    }
+
+    public void serverTick(ServerWorld world) {
+        int budget = world.getGameRules().getInt(ModGameRules.SPORE_GROWTH_BLOCK_BUDGET);
+        cursor = agents.compact(cursor);
+        int size = agents.size();
+        int blocksWritten = 0;
+        int visited = 0;
+        while (visited < size && blocksWritten < budget) {
+            int slot = (cursor + visited) % size;
+            SporeGrowthEntity entity = agents.getEntity(slot);
+            if (entity != null) {
+                blocksWritten += entity.tickGrowth(blockWriter, budget - blocksWritten);
+                // Stop on a growth that ran out of budget partway, so it goes first next tick
+                if (!entity.isRemoved() && agents.getOwedTicks(slot) > 0) {
+                    break;
+                }
+            }
+            ++visited;
+        }
+        cursor = size > 0 ? (cursor + visited) % size : 0;
+        blockWriter.flush(world);
+    }
+
+    SporeGrowthBlockWriter getBlockWriter() {
+        return blockWriter;
+    }
+
+    public int getGrowthCount() {
+        return agents.size();
+    }
+}
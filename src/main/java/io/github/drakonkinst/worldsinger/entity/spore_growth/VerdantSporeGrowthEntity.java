@@ -72,7 +72,7 @@ public class VerdantSporeGrowthEntity extends SporeGrowthEntity {
                     .with(Properties.AXIS, this.getPlacementAxis());
         } else if (this.getStage() == 1) {
             VerdantVineBranchBlock block = (VerdantVineBranchBlock) ModBlocks.VERDANT_VINE_BRANCH;
-            state = block.withConnectionProperties(this.getWorld(), this.getBlockPos());
+            state = block.withConnectionProperties(this.getWorld(), this.getGrowthPos());
         }
 
         if (state == null) {
@@ -81,7 +81,7 @@ public class VerdantSporeGrowthEntity extends SporeGrowthEntity {
 
         if (state.contains(ModProperties.FLUIDLOGGED)) {
             int fluidloggedIndex = Fluidlogged.getFluidIndex(
-                    this.getWorld().getFluidState(this.getBlockPos()).getFluid());
+                    this.getWorld().getFluidState(this.getGrowthPos()).getFluid());
             state = state.with(ModProperties.FLUIDLOGGED, fluidloggedIndex);
         }
         if (this.shouldDrainWater() && state.contains(ModProperties.CATALYZED)) {
@@ -91,10 +91,10 @@ public class VerdantSporeGrowthEntity extends SporeGrowthEntity {
     }
 
     private Axis getPlacementAxis() {
-        if (lastDir.x() != 0) {
+        if (this.getLastDir().x() != 0) {
             return Axis.X;
         }
-        if (lastDir.z() != 0) {
+        if (this.getLastDir().z() != 0) {
             return Axis.Z;
         }
         return Axis.Y;
@@ -121,7 +121,7 @@ public class VerdantSporeGrowthEntity extends SporeGrowthEntity {
         }
 
         // Heavy penalty for going in the same direction to encourage curved paths
-        if (direction.equals(lastDir)) {
+        if (direction.equals(this.getLastDir())) {
             return 5;
         }
 
@@ -143,7 +143,7 @@ public class VerdantSporeGrowthEntity extends SporeGrowthEntity {
 
         // Bonus for moving away from origin
         int bonusDistanceFromOrigin =
-                this.getDistanceFromOrigin(pos) - this.getDistanceFromOrigin(this.getBlockPos());
+                this.getDistanceFromOrigin(pos) - this.getDistanceFromOrigin(this.getGrowthPos());
         weight += 10 * bonusDistanceFromOrigin;
 
         if (!allowPassthrough) {
@@ -230,7 +230,7 @@ public class VerdantSporeGrowthEntity extends SporeGrowthEntity {
         float proportion = 0.25f + random.nextFloat() * 0.25f;
         int numSpores = MathHelper.ceil(this.getSpores() * proportion);
         int numWater = MathHelper.ceil(this.getWater() * proportion);
-        Vec3d spawnPos = this.getBlockPos().toCenterPos();
+        Vec3d spawnPos = this.getGrowthPos().toCenterPos();
         VerdantSpores.getInstance()
                 .spawnSporeGrowth(this.getWorld(), spawnPos, numSpores, numWater,
                         this.isInitialGrowth(), this.getStage() > 0, true, Int3.ZERO);
@@ -25,18 +25,31 @@ package io.github.drakonkinst.worldsinger.event;
 
 import io.github.drakonkinst.worldsinger.api.sync.AttachmentSync;
 import io.github.drakonkinst.worldsinger.block.LivingSporeGrowthBlock;
+import io.github.drakonkinst.worldsinger.cosmere.MetalProfileHolder;
+import io.github.drakonkinst.worldsinger.cosmere.MetalQueryManager;
 import io.github.drakonkinst.worldsinger.cosmere.PossessionManager;
+import io.github.drakonkinst.worldsinger.cosmere.ReactionScheduler;
 import io.github.drakonkinst.worldsinger.cosmere.SilverLined;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarManagerAccess;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.MidnightAetherBondManager;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlineTracker;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.SporeGrowthForceSources;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.SporeKillingUtil;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.SporeRegenerationFront;
 import io.github.drakonkinst.worldsinger.effect.ModStatusEffects;
 import io.github.drakonkinst.worldsinger.entity.CameraPossessable;
 import io.github.drakonkinst.worldsinger.entity.attachments.ModAttachmentTypes;
+import io.github.drakonkinst.worldsinger.entity.rainline.RainlineEntity;
+import io.github.drakonkinst.worldsinger.entity.spore_growth.SporeGrowthScheduler;
 import io.github.drakonkinst.worldsinger.item.ModItems;
 import io.github.drakonkinst.worldsinger.registry.ModDataComponentTypes;
 import io.github.drakonkinst.worldsinger.registry.tag.ModItemTags;
+import io.github.drakonkinst.worldsinger.world.BlockIndexManager;
 import java.util.List;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.event.player.AttackBlockCallback;
 import net.fabricmc.fabric.api.event.player.PlayerPickItemEvents;
@@ -223,16 +236,55 @@ public final class ModEventHandlers {
                     }
                 });
 
+        // Track rainline positions
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof RainlineEntity rainlineEntity) {
+                RainlineTracker.get(world).update(rainlineEntity);
+            }
+        });
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof RainlineEntity rainlineEntity) {
+                RainlineTracker.get(world).remove(rainlineEntity);
+            }
+        });
+
+        // Metal content depends on equipment, tags, and data tables
+        ServerEntityEvents.EQUIPMENT_CHANGE.register(
+                (entity, slot, previousStack, currentStack) -> ((MetalProfileHolder) entity)
+                        .worldsinger$getMetalProfile()
+                        .invalidate());
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register(
+                (server, resourceManager, success) -> MetalQueryManager.onDataReloaded());
+
         // Sync entity attachments
         StartTrackingEntityCallback.EVENT.register(AttachmentSync::syncEntityAttachments);
         PlayerSyncCallback.EVENT.register(
                 (player -> AttachmentSync.syncEntityAttachments(player, player)));
+        ServerTickEvents.END_SERVER_TICK.register(server -> AttachmentSync.sendPendingSyncs());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> AttachmentSync.clearPendingSyncs());
     }
 
     private static void registerWorldHandlers() {
         ServerTickEvents.END_WORLD_TICK.register(world -> {
             ((LumarManagerAccess) world).worldsinger$getLumarManager().serverTick(world);
+            ReactionScheduler.get(world).serverTick(world);
+            SporeGrowthScheduler.get(world).serverTick(world);
+            SporeGrowthForceSources.get(world).clear();
+            SporeRegenerationFront.get(world).serverTick(world);
+        });
+
+        // Chunk tracking
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+            BlockIndexManager.get(world).onChunkLoaded(chunk);
+            ReactionScheduler.get(world).onChunkLoaded(chunk.getPos());
+            SporeRegenerationFront.get(world).onChunkLoaded(chunk);
+        });
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            BlockIndexManager.get(world).onChunkUnloaded(chunk);
+            SporeRegenerationFront.get(world).onChunkUnloaded(chunk);
         });
+        CommonLifecycleEvents.TAGS_LOADED.register(
+                (registries, client) -> BlockIndexManager.invalidateAll());
     }
 
     public static void initialize() {
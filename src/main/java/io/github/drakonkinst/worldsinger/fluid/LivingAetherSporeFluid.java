@@ -23,11 +23,8 @@
  */
 package io.github.drakonkinst.worldsinger.fluid;
 
-import io.github.drakonkinst.worldsinger.block.ModBlocks;
 import io.github.drakonkinst.worldsinger.cosmere.WaterReactionManager;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.AetherSpores;
-import io.github.drakonkinst.worldsinger.cosmere.lumar.SeetheManager;
-import io.github.drakonkinst.worldsinger.cosmere.lumar.SporeKillingUtil;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
@@ -48,43 +45,29 @@ public abstract class LivingAetherSporeFluid extends AetherSporeFluid implements
 
     public static final int CATALYZE_VALUE_STILL = 250;
     public static final int CATALYZE_VALUE_FLOWING = 25;
-    private static final int NUM_RANDOM_SPREAD_PER_RANDOM_TICK = 2;
 
     public LivingAetherSporeFluid(AetherSpores sporeType) {
         super(sporeType);
     }
 
+    // Spore seas are ticked by SporeSeaTicker instead, which skips blocks that cannot do anything
     @Override
     protected boolean hasRandomTicks() {
-        return true;
+        return false;
     }
 
+    // Still reached through explicit random ticks, such as from rainlines, which only ever tick
+    // the top of a column
     @Override
     protected void onRandomTick(ServerWorld world, BlockPos pos, FluidState state, Random random) {
-        super.onRandomTick(world, pos, state, random);
+        this.tickSurface(world, pos, state, random);
+    }
 
+    // Called for blocks at the top of their column
+    public void tickSurface(ServerWorld world, BlockPos pos, FluidState state, Random random) {
         if (world.hasRain(pos.up())) {
             this.reactToWater(world, pos, state, Integer.MAX_VALUE, random);
         }
-
-        if (!SeetheManager.areSporesFluidized(world)) {
-            return;
-        }
-
-        // Spread to nearby dead spore sea blocks, regenerating them
-        BlockState blockState = this.toBlockState(state);
-        for (int i = 0; i < NUM_RANDOM_SPREAD_PER_RANDOM_TICK; ++i) {
-            int offsetX = random.nextInt(3) - 1;
-            int offsetY = random.nextInt(3) - 1;
-            int offsetZ = random.nextInt(3) - 1;
-
-            BlockPos blockPos = pos.add(offsetX, offsetY, offsetZ);
-            if (world.getBlockState(blockPos).isOf(ModBlocks.DEAD_SPORE_SEA) && world.getFluidState(
-                    blockPos).isStill() && !SporeKillingUtil.isSporeKillingBlockNearby(world,
-                    blockPos)) {
-                world.setBlockState(blockPos, blockState);
-            }
-        }
     }
 
     @Override
@@ -25,6 +25,7 @@ package io.github.drakonkinst.worldsinger.mixin.entity;
 
 import com.llamalad7.mixinextras.injector.v2.WrapWithCondition;
 import io.github.drakonkinst.worldsinger.advancement.ModCriteria;
+import io.github.drakonkinst.worldsinger.api.sync.AttachmentSync;
 import io.github.drakonkinst.worldsinger.entity.attachments.ModAttachmentTypes;
 import io.github.drakonkinst.worldsinger.cosmere.SilverLined;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.AetherSpores;
@@ -32,6 +33,7 @@ import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarManagerAccess;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.SeetheManager;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.SporeKillingUtil;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.SporeParticleSpawner;
+import io.github.drakonkinst.worldsinger.entity.SilverLinedEntityData;
 import io.github.drakonkinst.worldsinger.fluid.AetherSporeFluid;
 import io.github.drakonkinst.worldsinger.fluid.ModFluidTags;
 import io.github.drakonkinst.worldsinger.registry.ModSoundEvents;
@@ -100,6 +102,7 @@ public abstract class BoatEntityMovementMixin extends VehicleEntity {
     private void injectTick(CallbackInfo ci) {
         addParticlesToRowing();
         killSporeBlocks();
+        syncSilverDurability();
     }
 
     @Unique
@@ -118,8 +121,26 @@ public abstract class BoatEntityMovementMixin extends VehicleEntity {
         }
     }
 
+    @Unique
+    private void syncSilverDurability() {
+        if (this.getWorld().isClient()) {
+            return;
+        }
+        SilverLinedEntityData silverData = this.getAttached(ModAttachmentTypes.SILVER_LINED_BOAT);
+        if (silverData != null && silverData.updateSyncedLevel()) {
+            AttachmentSync.sync(this, ModAttachmentTypes.SILVER_LINED_BOAT, silverData);
+        }
+    }
+
     @Unique
     private void killSporeBlocks() {
+        // Clients only have the durability as of the last silver lining level change, so they
+        // would wear it down and stop killing spores at the wrong time
+        World world = this.getWorld();
+        if (world.isClient()) {
+            return;
+        }
+
         // TODO: Maybe want to extend this radius a little but in the future
         SilverLined silverData = this.getAttachedOrCreate(ModAttachmentTypes.SILVER_LINED_BOAT);
         int silverDurability = silverData.getSilverDurability();
@@ -127,7 +148,6 @@ public abstract class BoatEntityMovementMixin extends VehicleEntity {
             return;
         }
 
-        World world = this.getWorld();
         int sporesKilled = SporeKillingUtil.killSporesAroundEntity(world, this);
         int silverDamage =
                 (this.location == Location.UNDER_FLOWING_WATER ? UNDER_SPORES_SILVER_PENALTY_TICK
@@ -69,6 +69,8 @@ public abstract class BoatEntitySilverMixin extends VehicleEntity {
             // Set data
             silverData.repair();
             if (!this.getWorld().isClient()) {
+                // Repairs are synced exactly, since the level may not change
+                silverData.updateSyncedLevel();
                 AttachmentSync.sync(this, ModAttachmentTypes.SILVER_LINED_BOAT, silverData);
             }
 
@@ -25,14 +25,12 @@
 package io.github.drakonkinst.worldsinger.mixin.entity;
 
 import io.github.drakonkinst.worldsinger.cosmere.lumar.AetherSpores;
-import io.github.drakonkinst.worldsinger.cosmere.lumar.DeadSpores;
-import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarLunagreeGenerator;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarManagerAccess;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.LunagreeGenerator;
-import io.github.drakonkinst.worldsinger.cosmere.lumar.LunagreeLocation;
-import io.github.drakonkinst.worldsinger.cosmere.lumar.SporeKillingUtil;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.SporeParticleManager;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.SporefallExposureCache;
 import io.github.drakonkinst.worldsinger.entity.ModEntityTypeTags;
+import io.github.drakonkinst.worldsinger.registry.ModGameRules;
 import io.github.drakonkinst.worldsinger.util.BlockPosUtil;
 import net.minecraft.entity.Attackable;
 import net.minecraft.entity.Entity;
@@ -43,7 +41,9 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.Heightmap.Type;
 import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
@@ -51,6 +51,10 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 @Mixin(LivingEntity.class)
 public abstract class LivingEntityLunagreeMixin extends Entity implements Attackable {
 
+    @Unique
+    @Nullable
+    private SporefallExposureCache sporefallExposureCache;
+
     public LivingEntityLunagreeMixin(EntityType<?> type, World world) {
         super(type, world);
     }
@@ -70,6 +74,19 @@ public abstract class LivingEntityLunagreeMixin extends Entity implements Attack
                 || playerEntity.isSpectator())) {
             return;
         }
+        LunagreeGenerator manager = ((LumarManagerAccess) world).worldsinger$getLumarManager()
+                .getLunagreeGenerator();
+        if (manager.isNull()) {
+            return;
+        }
+
+        // Stagger checks across entities so they don't all land on the same tick
+        int checkInterval = serverWorld.getGameRules()
+                .getInt(ModGameRules.SPOREFALL_CHECK_INTERVAL);
+        if (checkInterval > 1 && (this.age + this.getId()) % checkInterval != 0) {
+            return;
+        }
+
         BlockPos blockPos = BlockPosUtil.toBlockPos(this.getEyePos());
         if (!world.isSkyVisible(blockPos)
                 || world.getTopY(Type.MOTION_BLOCKING, blockPos.getX(), blockPos.getZ())
@@ -77,22 +94,14 @@ public abstract class LivingEntityLunagreeMixin extends Entity implements Attack
             return;
         }
 
-        LunagreeGenerator manager = ((LumarManagerAccess) world).worldsinger$getLumarManager()
-                .getLunagreeGenerator();
-        LunagreeLocation underLocation = manager.getNearestLunagree(serverWorld, entity.getBlockX(),
-                entity.getBlockZ(), LumarLunagreeGenerator.SPORE_FALL_RADIUS);
-        if (underLocation == null) {
-            return;
+        if (sporefallExposureCache == null) {
+            sporefallExposureCache = new SporefallExposureCache();
         }
-
-        AetherSpores sporeType = AetherSpores.getAetherSporeTypeById(underLocation.sporeId());
+        AetherSpores sporeType = sporefallExposureCache.getSporeType(serverWorld, manager,
+                blockPos);
         if (sporeType == null) {
             return;
         }
-        if (sporeType.getId() == DeadSpores.ID || SporeKillingUtil.isSporeKillingBlockNearby(world,
-                blockPos)) {
-            return;
-        }
         SporeParticleManager.applySporeEffect(entity, sporeType.getStatusEffect(),
                 SporeParticleManager.SPORE_EFFECT_DURATION_TICKS_DEFAULT);
     }
@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.mixin.entity;
+
+import io.github.drakonkinst.worldsinger.cosmere.MetalProfileHolder;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.Hand;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+// Shields add metal content while in use, so the metal profile needs to be recomputed when an
+// item starts or stops being used. Equipment changes are handled by an event instead.
+@Mixin(LivingEntity.class)
+public abstract class LivingEntityMetalProfileMixin extends Entity implements MetalProfileHolder {
+
+    public LivingEntityMetalProfileMixin(EntityType<?> type, World world) {
+        super(type, world);
+    }
+
+    @Inject(method = "setCurrentHand", at = @At("TAIL"))
+    private void invalidateMetalProfileOnUse(Hand hand, CallbackInfo ci) {
+        this.worldsinger$getMetalProfile().invalidate();
+    }
+
+    @Inject(method = "clearActiveItem", at = @At("TAIL"))
+    private void invalidateMetalProfileOnStopUsing(CallbackInfo ci) {
+        this.worldsinger$getMetalProfile().invalidate();
+    }
+}
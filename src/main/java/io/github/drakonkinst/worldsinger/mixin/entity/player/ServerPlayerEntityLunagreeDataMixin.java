@@ -29,6 +29,7 @@ import io.github.drakonkinst.worldsinger.cosmere.CosmerePlanet;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarManagerAccess;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.LunagreeGenerator;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.LunagreeLocation;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.NearestLunagreeQuery;
 import io.github.drakonkinst.worldsinger.world.LunagreeDataReceiver;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -58,6 +59,8 @@ public abstract class ServerPlayerEntityLunagreeDataMixin extends PlayerEntity i
     private long nextUpdateTick = 0;
     @Unique
     private long currentCellKey = Long.MAX_VALUE;
+    @Unique
+    private final NearestLunagreeQuery nearestLunagreeQuery = new NearestLunagreeQuery();
 
     public ServerPlayerEntityLunagreeDataMixin(World world, GameProfile gameProfile) {
         super(world, gameProfile);
@@ -93,7 +96,7 @@ public abstract class ServerPlayerEntityLunagreeDataMixin extends PlayerEntity i
         LunagreeGenerator lunagreeGenerator = ((LumarManagerAccess) world).worldsinger$getLumarManager()
                 .getLunagreeGenerator();
         // We use MAX_VALUE here, but the implementation is naturally limited by the range of the neighboring lunagrees
-        LunagreeLocation nearestLocation = lunagreeGenerator.getNearestLunagree(world,
+        LunagreeLocation nearestLocation = nearestLunagreeQuery.find(world, lunagreeGenerator,
                 this.getBlockX(), this.getBlockZ(), Integer.MAX_VALUE);
         if (nearestLocation != null) {
             double distSq = nearestLocation.distSqTo(this.getX(), this.getZ());
@@ -24,16 +24,18 @@
 
 package io.github.drakonkinst.worldsinger.mixin.sync;
 
+import io.github.drakonkinst.worldsinger.api.sync.AttachmentSync;
 import io.github.drakonkinst.worldsinger.api.sync.SyncableAttachment;
 import io.github.drakonkinst.worldsinger.api.sync.SyncableAttachmentTarget;
 import io.github.drakonkinst.worldsinger.network.packet.AttachmentEntitySyncPayload;
+import io.netty.buffer.Unpooled;
 import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Deque;
 import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
 import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.minecraft.entity.Entity;
-import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.world.World;
@@ -65,9 +67,17 @@ public abstract class EntitySyncableMixin implements SyncableAttachmentTarget {
 
     @Override
     public <S extends SyncableAttachment> CustomPayload worldsinger$createSyncPacket(
-            AttachmentType<S> attachmentType, SyncableAttachment attachment) {
-        NbtCompound nbt = new NbtCompound();
-        attachment.syncToNbt(nbt);
-        return new AttachmentEntitySyncPayload(this.getId(), attachmentType.identifier(), nbt);
+            AttachmentType<S> attachmentType, SyncableAttachment attachment, int fieldMask) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        attachment.writeSyncData(buf, fieldMask);
+        byte[] data = new byte[buf.readableBytes()];
+        buf.readBytes(data);
+        return new AttachmentEntitySyncPayload(this.getId(),
+                AttachmentSync.getSyncId(attachmentType), fieldMask, data);
+    }
+
+    @Override
+    public boolean worldsinger$isRemovedForSync() {
+        return ((Entity) (Object) this).isRemoved();
     }
 }
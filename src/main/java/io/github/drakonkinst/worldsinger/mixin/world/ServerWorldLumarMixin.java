@@ -34,6 +34,7 @@ import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarRainlineSpawner;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.LumarSeetheManager;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.LunagreeGenerator;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.LunagreeLocation;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.NearestLunagreeQuery;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlineSpawner;
 import io.github.drakonkinst.worldsinger.cosmere.lumar.SeetheManager;
 import io.github.drakonkinst.worldsinger.network.packet.SeetheUpdatePayload;
@@ -80,6 +81,8 @@ public abstract class ServerWorldLumarMixin extends WorldLumarMixin implements
     private List<SpecialSpawner> spawners;
     @Unique
     private boolean syncedSeething;
+    @Unique
+    private final NearestLunagreeQuery nearestLunagreeQuery = new NearestLunagreeQuery();
 
     @Inject(method = "<init>", at = @At("TAIL"))
     private void initializeLumarData(MinecraftServer server, Executor workerExecutor,
@@ -119,8 +122,9 @@ public abstract class ServerWorldLumarMixin extends WorldLumarMixin implements
         if (!canPlaceSporeBlock(pos, belowPos)) {
             return;
         }
-        LunagreeLocation nearestLocation = lumarManager.getLunagreeGenerator()
-                .getNearestLunagree(world, x, z, LumarLunagreeGenerator.SPORE_FALL_RADIUS);
+        LunagreeLocation nearestLocation = nearestLunagreeQuery.find(world,
+                lumarManager.getLunagreeGenerator(), x, z,
+                LumarLunagreeGenerator.SPORE_FALL_RADIUS);
         if (nearestLocation == null) {
             return;
         }
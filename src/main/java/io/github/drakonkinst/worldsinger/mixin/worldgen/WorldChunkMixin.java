@@ -23,24 +23,33 @@
  */
 package io.github.drakonkinst.worldsinger.mixin.worldgen;
 
+import com.llamalad7.mixinextras.injector.ModifyExpressionValue;
 import com.llamalad7.mixinextras.injector.wrapoperation.Operation;
 import com.llamalad7.mixinextras.injector.wrapoperation.WrapOperation;
+import com.llamalad7.mixinextras.sugar.Local;
 import io.github.drakonkinst.worldsinger.block.SporeKillable;
+import io.github.drakonkinst.worldsinger.cosmere.lumar.SporeRegenerationFront;
 import io.github.drakonkinst.worldsinger.fluid.ModFluidTags;
+import io.github.drakonkinst.worldsinger.world.BlockIndexManager;
 import io.github.drakonkinst.worldsinger.worldgen.lumar.LumarChunkGenerator;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.fluid.FluidState;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 import net.minecraft.world.chunk.WorldChunk;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Slice;
 
 @Mixin(WorldChunk.class)
 public abstract class WorldChunkMixin {
 
+    @Shadow
+    public abstract World getWorld();
+
     // Run a block tick on all generated spore sea blocks at sea level to check for spore-killing
     // blocks, creating the dead spore ring around saltstone islands
     @WrapOperation(method = "runPostProcessing", at = @At(value = "INVOKE", target = "Lnet/minecraft/fluid/FluidState;onScheduledTick(Lnet/minecraft/server/world/ServerWorld;Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/BlockState;)V"))
@@ -67,4 +76,17 @@ public abstract class WorldChunkMixin {
                 sporeKillable.getDeadSporeBlock()));
     }
 
+    // Keep block indices up-to-date as soon as the section changes, before any block callbacks run
+    @ModifyExpressionValue(method = "setBlockState", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/ChunkSection;setBlockState(IIILnet/minecraft/block/BlockState;)Lnet/minecraft/block/BlockState;"))
+    private BlockState updateBlockIndices(BlockState oldState,
+            @Local(argsOnly = true) BlockPos pos, @Local(argsOnly = true) BlockState state) {
+        if (oldState != state) {
+            World world = this.getWorld();
+            BlockIndexManager.get(world).onBlockChanged(pos, oldState, state);
+            if (!world.isClient() && SporeRegenerationFront.isFrontChange(oldState, state)) {
+                SporeRegenerationFront.get(world).onBlockChanged(world, pos, oldState, state);
+            }
+        }
+        return oldState;
+    }
 }
@@ -25,15 +25,15 @@
 package io.github.drakonkinst.worldsinger.network.packet;
 
 import io.github.drakonkinst.worldsinger.network.ModPayloadRegistry;
-import net.minecraft.nbt.NbtCompound;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.network.codec.PacketCodec;
 import net.minecraft.network.packet.CustomPayload;
-import net.minecraft.util.Identifier;
 
-public record AttachmentEntitySyncPayload(int entityId, Identifier attachmentId,
-                                          NbtCompound nbt) implements CustomPayload {
+// Server-to-client packet with the changed fields of an entity attachment. The attachment is
+// identified by its index in AttachmentSync#ENTITY_SYNCED_COMPONENTS
+public record AttachmentEntitySyncPayload(int entityId, int attachmentId, int fieldMask,
+                                          byte[] data) implements CustomPayload {
 
     public static final Id<AttachmentEntitySyncPayload> ID = ModPayloadRegistry.id(
             "attachment_entity_sync");
@@ -41,13 +41,14 @@ public record AttachmentEntitySyncPayload(int entityId, Identifier attachmentId,
             AttachmentEntitySyncPayload::write, AttachmentEntitySyncPayload::new);
 
     public AttachmentEntitySyncPayload(PacketByteBuf buf) {
-        this(buf.readVarInt(), buf.readIdentifier(), buf.readNbt());
+        this(buf.readVarInt(), buf.readVarInt(), buf.readVarInt(), buf.readByteArray());
     }
 
     private void write(PacketByteBuf buf) {
         buf.writeVarInt(entityId);
-        buf.writeIdentifier(attachmentId);
-        buf.writeNbt(nbt);
+        buf.writeVarInt(attachmentId);
+        buf.writeVarInt(fieldMask);
+        buf.writeByteArray(data);
     }
 
     @Override
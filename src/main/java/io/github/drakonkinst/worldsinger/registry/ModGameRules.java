@@ -24,8 +24,46 @@
 
 package io.github.drakonkinst.worldsinger.registry;
 
+import net.fabricmc.fabric.api.gamerule.v1.GameRuleFactory;
+import net.fabricmc.fabric.api.gamerule.v1.GameRuleRegistry;
+import net.minecraft.world.GameRules;
+import net.minecraft.world.GameRules.Category;
+
 public final class ModGameRules {
 
+    // How often, in ticks, each entity checks whether it is under lunagree sporefall.
+    // Capped so that the spore effect never runs out between checks.
+    public static final GameRules.Key<GameRules.IntRule> SPOREFALL_CHECK_INTERVAL = GameRuleRegistry.register(
+            createModGameRuleName("sporefallCheckInterval"), Category.MOBS,
+            GameRuleFactory.createIntRule(1, 1, 20));
+
+    // How many lunagrees can start generating each tick ahead of where players are heading.
+    public static final GameRules.Key<GameRules.IntRule> LUNAGREE_PREFETCH_BUDGET = GameRuleRegistry.register(
+            createModGameRuleName("lunagreePrefetchBudget"), Category.UPDATES,
+            GameRuleFactory.createIntRule(1, 0, 16));
+
+    // How many blocks spore growths can place in each world per tick. Growths over the budget are
+    // deferred to the next tick, and catch up on the ticks they missed once there is room.
+    public static final GameRules.Key<GameRules.IntRule> SPORE_GROWTH_BLOCK_BUDGET = GameRuleRegistry.register(
+            createModGameRuleName("sporeGrowthBlockBudget"), Category.UPDATES,
+            GameRuleFactory.createIntRule(1024, 1));
+
+    // How many milliseconds each world can spend on water reactions per tick. Reactions over the
+    // budget are queued and run on later ticks.
+    public static final GameRules.Key<GameRules.IntRule> REACTION_BUDGET_MILLIS = GameRuleRegistry.register(
+            createModGameRuleName("reactionBudgetMillis"), Category.UPDATES,
+            GameRuleFactory.createIntRule(10, 1, 1000));
+
+    // Random tick speed used for living spore seas, which do not use regular random ticks
+    public static final GameRules.Key<GameRules.IntRule> SPORE_SEA_TICK_SPEED = GameRuleRegistry.register(
+            createModGameRuleName("sporeSeaTickSpeed"), Category.UPDATES,
+            GameRuleFactory.createIntRule(3, 0));
+
+    // How many ticks of seething it takes for dead spore sea next to living spores to regenerate
+    public static final GameRules.Key<GameRules.IntRule> SPORE_REGENERATION_DELAY = GameRuleRegistry.register(
+            createModGameRuleName("sporeRegenerationDelay"), Category.UPDATES,
+            GameRuleFactory.createIntRule(1200, 0));
+
     // public static final GameRules.Key<GameRules.BooleanRule> START_ON_LUMAR = GameRuleRegistry.register(
     //         createModGameRuleName("startOnLumar"), Category.MISC,
     //         GameRuleFactory.createBooleanRule(false));
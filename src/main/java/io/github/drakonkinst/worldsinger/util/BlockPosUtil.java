@@ -24,6 +24,9 @@
 package io.github.drakonkinst.worldsinger.util;
 
 import io.github.drakonkinst.worldsinger.registry.tag.ModBlockTags;
+import io.github.drakonkinst.worldsinger.world.BlockIndexManager;
+import io.github.drakonkinst.worldsinger.world.InvestitureOcclusionCache;
+import io.github.drakonkinst.worldsinger.world.SectionBlockIndex;
 import net.minecraft.block.Block;
 import net.minecraft.entity.Entity;
 import net.minecraft.registry.tag.TagKey;
@@ -39,8 +42,49 @@ public final class BlockPosUtil {
 
     public static boolean isInvestitureBlocked(World world, BlockPos emitterPos,
             BlockPos listenerPos) {
-        return BlockPosUtil.isOccluded(world, emitterPos, listenerPos,
+        BlockIndexManager blockIndexManager = BlockIndexManager.get(world);
+        SectionBlockIndex investitureBlockers = blockIndexManager.getInvestitureBlockers();
+        InvestitureOcclusionCache occlusionCache = blockIndexManager.getOcclusionCache();
+        long emitter = emitterPos.asLong();
+        long listener = listenerPos.asLong();
+        // Cached results only depend on the blockers in the sections between both points
+        int stamp = investitureBlockers.getStamp(world,
+                Math.min(emitterPos.getX(), listenerPos.getX()) - 1,
+                Math.min(emitterPos.getY(), listenerPos.getY()) - 1,
+                Math.min(emitterPos.getZ(), listenerPos.getZ()) - 1,
+                Math.max(emitterPos.getX(), listenerPos.getX()) + 1,
+                Math.max(emitterPos.getY(), listenerPos.getY()) + 1,
+                Math.max(emitterPos.getZ(), listenerPos.getZ()) + 1);
+        if (stamp != SectionBlockIndex.UNTRACKED) {
+            int cachedResult = occlusionCache.get(emitter, listener, stamp);
+            if (cachedResult != InvestitureOcclusionCache.UNKNOWN) {
+                return cachedResult == 1;
+            }
+        }
+
+        Vec3d fromPos = emitterPos.toCenterPos();
+        Vec3d toPos = listenerPos.toCenterPos();
+        boolean isBlocked = BlockPosUtil.hasInvestitureBlockerBetween(world, investitureBlockers,
+                fromPos, toPos) && BlockPosUtil.isOccluded(world, fromPos, toPos,
                 ModBlockTags.BLOCKS_INVESTITURE);
+        if (stamp != SectionBlockIndex.UNTRACKED) {
+            occlusionCache.put(emitter, listener, stamp, isBlocked);
+        }
+        return isBlocked;
+    }
+
+    // No raycast can hit a blocker if there are none in the box around both points. The box is
+    // padded by a block to account for the offsets used by isOccluded().
+    private static boolean hasInvestitureBlockerBetween(World world,
+            SectionBlockIndex investitureBlockers, Vec3d fromPos, Vec3d toPos) {
+        return investitureBlockers.anyMatch(world,
+                MathHelper.floor(Math.min(fromPos.getX(), toPos.getX())) - 1,
+                MathHelper.floor(Math.min(fromPos.getY(), toPos.getY())) - 1,
+                MathHelper.floor(Math.min(fromPos.getZ(), toPos.getZ())) - 1,
+                MathHelper.floor(Math.max(fromPos.getX(), toPos.getX())) + 1,
+                MathHelper.floor(Math.max(fromPos.getY(), toPos.getY())) + 1,
+                MathHelper.floor(Math.max(fromPos.getZ(), toPos.getZ())) + 1,
+                (x, y, z, value) -> true);
     }
 
     // Note: This only works for BlockPos, we may want something different for entities to account
@@ -67,7 +111,10 @@ public final class BlockPosUtil {
     }
 
     public static boolean isInvestitureBlocked(World world, Vec3d emitterPos, Vec3d listenerPos) {
-        return BlockPosUtil.isOccluded(world, emitterPos, listenerPos,
+        SectionBlockIndex investitureBlockers = BlockIndexManager.get(world)
+                .getInvestitureBlockers();
+        return BlockPosUtil.hasInvestitureBlockerBetween(world, investitureBlockers, emitterPos,
+                listenerPos) && BlockPosUtil.isOccluded(world, emitterPos, listenerPos,
                 ModBlockTags.BLOCKS_INVESTITURE);
     }
 
@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.drakonkinst.worldsinger.util;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.Mutable;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.random.Random;
+import org.jetbrains.annotations.Nullable;
+
+// Breadth-first flood fill over block positions, spreading through the six cardinal directions.
+// Each thread keeps one instance whose buffers are reused between fills, so a fill does not
+// allocate per block. Visited positions are tracked in a bitset covering a 64^3 window around the
+// start position, falling back to a hash set for anything outside of it.
+public final class FloodFill {
+
+    // Results returned by the visitor
+    public static final int SKIP = 0;
+    public static final int EXPAND = 1;
+    public static final int STOP = 2;
+
+    private static final int WINDOW_BITS = 6;
+    private static final int WINDOW_SIZE = 1 << WINDOW_BITS;
+    private static final int WINDOW_HALF = WINDOW_SIZE / 2;
+    private static final int WINDOW_VOLUME = WINDOW_SIZE * WINDOW_SIZE * WINDOW_SIZE;
+    private static final int INITIAL_QUEUE_CAPACITY = 256;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final ThreadLocal<FloodFill> INSTANCE = ThreadLocal.withInitial(FloodFill::new);
+
+    @FunctionalInterface
+    public interface Visitor {
+
+        // Called once per reached position, in order of increasing depth. The position is mutable
+        // and reused, so it must be copied to be kept. Returns SKIP to not spread from this
+        // position, EXPAND to spread to its unvisited neighbors, or STOP to end the fill.
+        int visit(BlockPos pos, int depth);
+    }
+
+    // Visits the start position and spreads from it. Positions at maxDepth are visited but never
+    // expanded. If random is given, the neighbor order is shuffled for each position the same way
+    // as Direction#shuffle(); otherwise, neighbors are visited in Direction#values() order.
+    public static void run(BlockPos startPos, int maxDepth, @Nullable Random random,
+            Visitor visitor) {
+        FloodFill floodFill = INSTANCE.get();
+        // Visitors may change blocks, which can start another fill from inside this one
+        if (floodFill.inUse) {
+            floodFill = new FloodFill();
+        }
+        floodFill.inUse = true;
+        try {
+            floodFill.fill(startPos, maxDepth, random, visitor);
+        } finally {
+            floodFill.reset();
+            floodFill.inUse = false;
+        }
+    }
+
+    private final long[] visitedWindow = new long[WINDOW_VOLUME >> 6];
+    private final Direction[] directionOrder = new Direction[DIRECTIONS.length];
+    private final Mutable mutable = new Mutable();
+    private int[] dirtyWords = new int[INITIAL_QUEUE_CAPACITY];
+    private int numDirtyWords = 0;
+    @Nullable
+    private LongSet visitedOutsideWindow = null;
+    // Ring buffer of positions waiting to be visited, and their depths
+    private long[] queuePositions = new long[INITIAL_QUEUE_CAPACITY];
+    private int[] queueDepths = new int[INITIAL_QUEUE_CAPACITY];
+    private int queueHead = 0;
+    private int queueSize = 0;
+    private int originX;
+    private int originY;
+    private int originZ;
+    private boolean inUse = false;
+
+    private FloodFill() {}
+
+    private void fill(BlockPos startPos, int maxDepth, @Nullable Random random, Visitor visitor) {
+        originX = startPos.getX() - WINDOW_HALF;
+        originY = startPos.getY() - WINDOW_HALF;
+        originZ = startPos.getZ() - WINDOW_HALF;
+        this.markVisited(startPos.getX(), startPos.getY(), startPos.getZ());
+        this.enqueue(startPos.asLong(), 0);
+
+        while (queueSize > 0) {
+            long packedPos = queuePositions[queueHead];
+            int depth = queueDepths[queueHead];
+            queueHead = (queueHead + 1) & (queuePositions.length - 1);
+            --queueSize;
+
+            int x = BlockPos.unpackLongX(packedPos);
+            int y = BlockPos.unpackLongY(packedPos);
+            int z = BlockPos.unpackLongZ(packedPos);
+            int result = visitor.visit(mutable.set(x, y, z), depth);
+            if (result == STOP) {
+                return;
+            }
+            if (result != EXPAND || depth >= maxDepth) {
+                continue;
+            }
+
+            Direction[] directions = random == null ? DIRECTIONS : this.shuffleDirections(random);
+            for (Direction direction : directions) {
+                int neighborX = x + direction.getOffsetX();
+                int neighborY = y + direction.getOffsetY();
+                int neighborZ = z + direction.getOffsetZ();
+                if (this.markVisited(neighborX, neighborY, neighborZ)) {
+                    this.enqueue(BlockPos.asLong(neighborX, neighborY, neighborZ), depth + 1);
+                }
+            }
+        }
+    }
+
+    // Returns true if the position was not visited before
+    private boolean markVisited(int x, int y, int z) {
+        int localX = x - originX;
+        int localY = y - originY;
+        int localZ = z - originZ;
+        if ((localX | localY | localZ) < 0 || localX >= WINDOW_SIZE || localY >= WINDOW_SIZE
+                || localZ >= WINDOW_SIZE) {
+            if (visitedOutsideWindow == null) {
+                visitedOutsideWindow = new LongOpenHashSet();
+            }
+            return visitedOutsideWindow.add(BlockPos.asLong(x, y, z));
+        }
+
+        int index = (((localY << WINDOW_BITS) | localZ) << WINDOW_BITS) | localX;
+        int wordIndex = index >> 6;
+        long bit = 1L << (index & 63);
+        long word = visitedWindow[wordIndex];
+        if ((word & bit) != 0) {
+            return false;
+        }
+        if (word == 0) {
+            if (numDirtyWords == dirtyWords.length) {
+                int[] newDirtyWords = new int[dirtyWords.length * 2];
+                System.arraycopy(dirtyWords, 0, newDirtyWords, 0, numDirtyWords);
+                dirtyWords = newDirtyWords;
+            }
+            dirtyWords[numDirtyWords++] = wordIndex;
+        }
+        visitedWindow[wordIndex] = word | bit;
+        return true;
+    }
+
+    private void enqueue(long packedPos, int depth) {
+        if (queueSize == queuePositions.length) {
+            this.growQueue();
+        }
+        int tail = (queueHead + queueSize) & (queuePositions.length - 1);
+        queuePositions[tail] = packedPos;
+        queueDepths[tail] = depth;
+        ++queueSize;
+    }
+
+    private void growQueue() {
+        int capacity = queuePositions.length;
+        long[] newPositions = new long[capacity * 2];
+        int[] newDepths = new int[capacity * 2];
+        // Unroll the ring so the head is at the start of the new arrays
+        int firstPart = capacity - queueHead;
+        System.arraycopy(queuePositions, queueHead, newPositions, 0, firstPart);
+        System.arraycopy(queuePositions, 0, newPositions, firstPart, queueHead);
+        System.arraycopy(queueDepths, queueHead, newDepths, 0, firstPart);
+        System.arraycopy(queueDepths, 0, newDepths, firstPart, queueHead);
+        queuePositions = newPositions;
+        queueDepths = newDepths;
+        queueHead = 0;
+    }
+
+    // Same algorithm and random calls as Direction#shuffle(), without creating a list
+    private Direction[] shuffleDirections(Random random) {
+        System.arraycopy(DIRECTIONS, 0, directionOrder, 0, DIRECTIONS.length);
+        for (int i = directionOrder.length; i > 1; --i) {
+            int j = random.nextInt(i);
+            Direction temp = directionOrder[i - 1];
+            directionOrder[i - 1] = directionOrder[j];
+            directionOrder[j] = temp;
+        }
+        return directionOrder;
+    }
+
+    private void reset() {
+        for (int i = 0; i < numDirtyWords; ++i) {
+            visitedWindow[dirtyWords[i]] = 0L;
+        }
+        numDirtyWords = 0;
+        if (visitedOutsideWindow != null) {
+            visitedOutsideWindow.clear();
+        }
+        queueHead = 0;
+        queueSize = 0;
+    }
+}
@@ -7,6 +7,7 @@ public final class HexCoordUtil {
     // Associative array of direction vector offsets for axial hex coordinates
     private static final int[] DIRECTION_Q = { +1, +1, +0, -1, -1, +0 };
     private static final int[] DIRECTION_R = { +0, -1, -1, +0, +1, +1 };
+    public static final int NUM_NEIGHBORS = DIRECTION_Q.length;
     private static final float RAD_3 = MathHelper.sqrt(3);
     private static final float RAD_3_OVER_3 = RAD_3 / 3.0f;
 
@@ -25,18 +26,19 @@ public final class HexCoordUtil {
     }
 
     public static long[] getNeighborKeys(long centerKey) {
-        long[] neighborKeys = new long[DIRECTION_Q.length];
-        int q = getQ(centerKey);
-        int r = getR(centerKey);
-
-        for (int i = 0; i < DIRECTION_Q.length; ++i) {
-            int neighborQ = q + DIRECTION_Q[i];
-            int neighborR = r + DIRECTION_R[i];
-            neighborKeys[i] = packHexCoords(neighborQ, neighborR);
+        long[] neighborKeys = new long[NUM_NEIGHBORS];
+        for (int i = 0; i < NUM_NEIGHBORS; ++i) {
+            neighborKeys[i] = getNeighborKey(centerKey, i);
         }
         return neighborKeys;
     }
 
+    // Allocation-free alternative to getNeighborKeys() for a single direction
+    public static long getNeighborKey(long centerKey, int direction) {
+        return packHexCoords(getQ(centerKey) + DIRECTION_Q[direction],
+                getR(centerKey) + DIRECTION_R[direction]);
+    }
+
     public static String cellToString(int q, int r) {
         return "(" + q + ", " + r + ")";
     }
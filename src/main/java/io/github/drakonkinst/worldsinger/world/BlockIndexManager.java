@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.drakonkinst.worldsinger.world;
+
+import io.github.drakonkinst.datatables.DataTables;
+import io.github.drakonkinst.worldsinger.Worldsinger;
+import io.github.drakonkinst.worldsinger.block.ModBlocks;
+import io.github.drakonkinst.worldsinger.block.SporeGrowthBlock;
+import io.github.drakonkinst.worldsinger.registry.ModDataTables;
+import io.github.drakonkinst.worldsinger.registry.tag.ModBlockTags;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+// Holds the per-world block indices used to speed up area queries
+public class BlockIndexManager {
+
+    // Incremented whenever tags or data tables are reloaded, since indexed values depend on them.
+    // Reloads can come from either the client or server thread in singleplayer.
+    private static final AtomicInteger globalGeneration = new AtomicInteger();
+
+    public static BlockIndexManager get(World world) {
+        return ((BlockIndexManagerAccess) world).worldsinger$getBlockIndexManager();
+    }
+
+    public static void invalidateAll() {
+        globalGeneration.incrementAndGet();
+    }
+
+    private final SectionBlockIndex sporeKillers = new SectionBlockIndex(
+            state -> state.isIn(ModBlockTags.KILLS_SPORES),
+            state -> DataTables.get(ModDataTables.SPORE_KILLING_RADIUS).query(state));
+    private final SectionBlockIndex investitureBlockers = new SectionBlockIndex(
+            state -> state.isIn(ModBlockTags.BLOCKS_INVESTITURE), state -> 0);
+    // Value is the block's metal range, shifted left once with the lowest bit set for steel
+    private final SectionBlockIndex metalBlocks = new SectionBlockIndex(
+            state -> state.isIn(ModBlockTags.HAS_IRON) || state.isIn(ModBlockTags.HAS_STEEL),
+            BlockIndexManager::getMetalValue);
+    private final SectionBlockIndex deadSporeSeas = new SectionBlockIndex(
+            state -> state.isOf(ModBlocks.DEAD_SPORE_SEA), state -> 0);
+    private final SectionBlockIndex decayingSporeGrowths = new SectionBlockIndex(
+            state -> state.getBlock() instanceof SporeGrowthBlock sporeGrowth
+                    && sporeGrowth.hasDecayTicks(state), state -> 0);
+    private final InvestitureOcclusionCache occlusionCache = new InvestitureOcclusionCache();
+    private int generation = globalGeneration.get();
+
+    public SectionBlockIndex getSporeKillers() {
+        this.validate();
+        return sporeKillers;
+    }
+
+    public SectionBlockIndex getInvestitureBlockers() {
+        this.validate();
+        return investitureBlockers;
+    }
+
+    public SectionBlockIndex getMetalBlocks() {
+        this.validate();
+        return metalBlocks;
+    }
+
+    public SectionBlockIndex getDeadSporeSeas() {
+        this.validate();
+        return deadSporeSeas;
+    }
+
+    public SectionBlockIndex getDecayingSporeGrowths() {
+        this.validate();
+        return decayingSporeGrowths;
+    }
+
+    public InvestitureOcclusionCache getOcclusionCache() {
+        return occlusionCache;
+    }
+
+    public void onBlockChanged(BlockPos pos, BlockState oldState, BlockState newState) {
+        this.validate();
+        sporeKillers.onBlockChanged(pos, oldState, newState);
+        investitureBlockers.onBlockChanged(pos, oldState, newState);
+        metalBlocks.onBlockChanged(pos, oldState, newState);
+        deadSporeSeas.onBlockChanged(pos, oldState, newState);
+        decayingSporeGrowths.onBlockChanged(pos, oldState, newState);
+    }
+
+    public void onChunkLoaded(Chunk chunk) {
+        sporeKillers.invalidateChunk(chunk);
+        investitureBlockers.invalidateChunk(chunk);
+        metalBlocks.invalidateChunk(chunk);
+        deadSporeSeas.invalidateChunk(chunk);
+        decayingSporeGrowths.invalidateChunk(chunk);
+    }
+
+    public void onChunkUnloaded(Chunk chunk) {
+        sporeKillers.invalidateChunk(chunk);
+        investitureBlockers.invalidateChunk(chunk);
+        metalBlocks.invalidateChunk(chunk);
+        deadSporeSeas.invalidateChunk(chunk);
+        decayingSporeGrowths.invalidateChunk(chunk);
+    }
+
+    private void validate() {
+        int currentGeneration = globalGeneration.get();
+        if (generation != currentGeneration) {
+            generation = currentGeneration;
+            sporeKillers.clear();
+            investitureBlockers.clear();
+            metalBlocks.clear();
+            deadSporeSeas.clear();
+            decayingSporeGrowths.clear();
+        }
+    }
+
+    private static int getMetalValue(BlockState state) {
+        int range = DataTables.get(ModDataTables.BLOCK_METAL_CONTENT).query(state);
+        if (range <= 0) {
+            Worldsinger.LOGGER.warn("Block " + state.getBlock().getName()
+                    + " is defined as having iron or steel, but no metal content value is given");
+            return -1;
+        }
+        return (range << 1) | (state.isIn(ModBlockTags.HAS_STEEL) ? 1 : 0);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.drakonkinst.worldsinger.world;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+// Direct-mapped cache of investiture occlusion results between pairs of block positions. Each
+// entry is only valid for the stamp of the investiture blockers in the sections between the pair,
+// so placing or removing a blocker only invalidates the pairs around it.
+public class InvestitureOcclusionCache {
+
+    public static final int UNKNOWN = -1;
+
+    private static final int SIZE_BITS = 12;
+    private static final int SIZE = 1 << SIZE_BITS;
+    private static final int MASK = SIZE - 1;
+    private static final byte EMPTY = 0;
+    private static final byte OCCLUDED = 1;
+    private static final byte NOT_OCCLUDED = 2;
+
+    private final long[] emitters = new long[SIZE];
+    private final long[] listeners = new long[SIZE];
+    private final int[] stamps = new int[SIZE];
+    private final byte[] results = new byte[SIZE];
+
+    // Returns 1 if occluded, 0 if not, or UNKNOWN if the pair is not cached
+    public int get(long emitter, long listener, int stamp) {
+        int slot = InvestitureOcclusionCache.getSlot(emitter, listener);
+        byte result = results[slot];
+        if (result == EMPTY || stamps[slot] != stamp || emitters[slot] != emitter
+                || listeners[slot] != listener) {
+            return UNKNOWN;
+        }
+        return result == OCCLUDED ? 1 : 0;
+    }
+
+    public void put(long emitter, long listener, int stamp, boolean isOccluded) {
+        int slot = InvestitureOcclusionCache.getSlot(emitter, listener);
+        emitters[slot] = emitter;
+        listeners[slot] = listener;
+        stamps[slot] = stamp;
+        results[slot] = isOccluded ? OCCLUDED : NOT_OCCLUDED;
+    }
+
+    private static int getSlot(long emitter, long listener) {
+        return (int) HashCommon.mix(emitter * 31 + listener) & MASK;
+    }
+}
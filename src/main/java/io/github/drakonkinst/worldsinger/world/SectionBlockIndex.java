@@ -0,0 +1,292 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.drakonkinst.worldsinger.world;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.EmptyChunk;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+// Tracks the positions of all blocks matching a filter in each chunk section, along with an
+// integer value for each block (such as a radius). Sections are scanned lazily the first time they
+// are queried, then kept up-to-date through block change events until their chunk is unloaded.
+public class SectionBlockIndex {
+
+    public static final int UNTRACKED = -1;
+
+    private static final int LOCAL_INDEX_BITS = 12;
+    private static final int LOCAL_INDEX_MASK = (1 << LOCAL_INDEX_BITS) - 1;
+    private static final int MAX_VALUE = Integer.MAX_VALUE >> LOCAL_INDEX_BITS;
+
+    @FunctionalInterface
+    public interface EntryPredicate {
+
+        boolean test(int x, int y, int z, int value);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        void accept(int x, int y, int z, int value);
+    }
+
+    private final Predicate<BlockState> filter;
+    private final ToIntFunction<BlockState> valueGetter;
+    private final Long2ObjectMap<IndexedSection> sections = new Long2ObjectOpenHashMap<>();
+    // Source of section stamps. Never reset, so a rebuilt section always gets a newer stamp.
+    private int lastStamp = 0;
+
+    public SectionBlockIndex(Predicate<BlockState> filter, ToIntFunction<BlockState> valueGetter) {
+        this.filter = filter;
+        this.valueGetter = valueGetter;
+    }
+
+    // Returns true if any indexed block within the box (inclusive) passes the predicate.
+    // Like World#getBlockState, this loads any chunks in the box that are not loaded yet.
+    public boolean anyMatch(World world, int minX, int minY, int minZ, int maxX, int maxY,
+            int maxZ, EntryPredicate predicate) {
+        int minSectionX = ChunkSectionPos.getSectionCoord(minX);
+        int minSectionY = ChunkSectionPos.getSectionCoord(minY);
+        int minSectionZ = ChunkSectionPos.getSectionCoord(minZ);
+        int maxSectionX = ChunkSectionPos.getSectionCoord(maxX);
+        int maxSectionY = ChunkSectionPos.getSectionCoord(maxY);
+        int maxSectionZ = ChunkSectionPos.getSectionCoord(maxZ);
+
+        for (int sectionX = minSectionX; sectionX <= maxSectionX; ++sectionX) {
+            for (int sectionZ = minSectionZ; sectionZ <= maxSectionZ; ++sectionZ) {
+                WorldChunk chunk = world.getChunk(sectionX, sectionZ);
+                for (int sectionY = minSectionY; sectionY <= maxSectionY; ++sectionY) {
+                    IndexedSection section = this.getOrBuildSection(chunk, sectionX, sectionY,
+                            sectionZ);
+                    if (section == null || section.entries.isEmpty()) {
+                        continue;
+                    }
+                    int originX = ChunkSectionPos.getBlockCoord(sectionX);
+                    int originY = ChunkSectionPos.getBlockCoord(sectionY);
+                    int originZ = ChunkSectionPos.getBlockCoord(sectionZ);
+                    IntArrayList entries = section.entries;
+                    for (int i = 0; i < entries.size(); ++i) {
+                        int entry = entries.getInt(i);
+                        int localIndex = entry & LOCAL_INDEX_MASK;
+                        int x = originX + SectionBlockIndex.unpackLocalX(localIndex);
+                        int y = originY + SectionBlockIndex.unpackLocalY(localIndex);
+                        int z = originZ + SectionBlockIndex.unpackLocalZ(localIndex);
+                        if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) {
+                            continue;
+                        }
+                        if (predicate.test(x, y, z, entry >>> LOCAL_INDEX_BITS)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Visits every indexed block within the box (inclusive)
+    public void forEach(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+            EntryConsumer consumer) {
+        this.anyMatch(world, minX, minY, minZ, maxX, maxY, maxZ, (x, y, z, value) -> {
+            consumer.accept(x, y, z, value);
+            return false;
+        });
+    }
+
+    public boolean containsAny(World world, int sectionX, int sectionY, int sectionZ) {
+        WorldChunk chunk = world.getChunk(sectionX, sectionZ);
+        IndexedSection section = this.getOrBuildSection(chunk, sectionX, sectionY, sectionZ);
+        return section != null && !section.entries.isEmpty();
+    }
+
+    // Returns a stamp that changes whenever any section overlapping the box (inclusive) changes or
+    // is rebuilt, so results computed from the box can be cached against it. Returns UNTRACKED if
+    // the box overlaps a chunk that is not loaded yet, since it cannot be kept up-to-date.
+    public int getStamp(World world, int minX, int minY, int minZ, int maxX, int maxY,
+            int maxZ) {
+        int minSectionX = ChunkSectionPos.getSectionCoord(minX);
+        int minSectionY = ChunkSectionPos.getSectionCoord(minY);
+        int minSectionZ = ChunkSectionPos.getSectionCoord(minZ);
+        int maxSectionX = ChunkSectionPos.getSectionCoord(maxX);
+        int maxSectionY = ChunkSectionPos.getSectionCoord(maxY);
+        int maxSectionZ = ChunkSectionPos.getSectionCoord(maxZ);
+
+        // Stamps only ever increase, so the newest one in the box changes if any of them do
+        int stamp = 0;
+        for (int sectionX = minSectionX; sectionX <= maxSectionX; ++sectionX) {
+            for (int sectionZ = minSectionZ; sectionZ <= maxSectionZ; ++sectionZ) {
+                WorldChunk chunk = world.getChunk(sectionX, sectionZ);
+                if (chunk instanceof EmptyChunk) {
+                    return UNTRACKED;
+                }
+                for (int sectionY = minSectionY; sectionY <= maxSectionY; ++sectionY) {
+                    IndexedSection section = this.getOrBuildSection(chunk, sectionX, sectionY,
+                            sectionZ);
+                    if (section != null) {
+                        stamp = Math.max(stamp, section.stamp);
+                    }
+                }
+            }
+        }
+        return stamp;
+    }
+
+    public void onBlockChanged(BlockPos pos, BlockState oldState, BlockState newState) {
+        boolean wasIndexed = filter.test(oldState);
+        boolean isIndexed = filter.test(newState);
+        if (!wasIndexed && !isIndexed) {
+            return;
+        }
+
+        // Sections that have not been scanned yet will pick up the change when they are built
+        long key = ChunkSectionPos.toLong(pos);
+        IndexedSection section = sections.get(key);
+        if (section == null) {
+            return;
+        }
+
+        section.stamp = ++lastStamp;
+        IntArrayList entries = section.entries;
+        int localIndex = SectionBlockIndex.packLocalIndex(pos.getX(), pos.getY(), pos.getZ());
+        if (wasIndexed) {
+            for (int i = 0; i < entries.size(); ++i) {
+                if ((entries.getInt(i) & LOCAL_INDEX_MASK) == localIndex) {
+                    entries.removeInt(i);
+                    break;
+                }
+            }
+        }
+        if (isIndexed) {
+            int value = valueGetter.applyAsInt(newState);
+            if (value >= 0) {
+                entries.add(SectionBlockIndex.packEntry(localIndex, value));
+            }
+        }
+    }
+
+    // Drops all sections for the given chunk, so they are rebuilt from the chunk's current
+    // contents the next time they are queried
+    public void invalidateChunk(Chunk chunk) {
+        ChunkPos chunkPos = chunk.getPos();
+        int numSections = chunk.getSectionArray().length;
+        for (int i = 0; i < numSections; ++i) {
+            int sectionY = chunk.sectionIndexToCoord(i);
+            sections.remove(ChunkSectionPos.asLong(chunkPos.x, sectionY, chunkPos.z));
+        }
+    }
+
+    public void clear() {
+        sections.clear();
+    }
+
+    @Nullable
+    private IndexedSection getOrBuildSection(Chunk chunk, int sectionX, int sectionY,
+            int sectionZ) {
+        long key = ChunkSectionPos.asLong(sectionX, sectionY, sectionZ);
+        IndexedSection section = sections.get(key);
+        if (section != null) {
+            return section;
+        }
+
+        // Chunks that are not loaded yet (such as on the client) would be cached as empty, and
+        // never rebuilt since no load event is fired for them
+        if (chunk instanceof EmptyChunk) {
+            return null;
+        }
+        ChunkSection[] sectionArray = chunk.getSectionArray();
+        int sectionIndex = chunk.sectionCoordToIndex(sectionY);
+        if (sectionIndex < 0 || sectionIndex >= sectionArray.length) {
+            return null;
+        }
+        section = new IndexedSection(this.buildEntries(sectionArray[sectionIndex]), ++lastStamp);
+        sections.put(key, section);
+        return section;
+    }
+
+    private IntArrayList buildEntries(ChunkSection section) {
+        IntArrayList entries = new IntArrayList();
+        // Check the palette first, which skips almost every section
+        if (section.isEmpty() || !section.hasAny(filter)) {
+            return entries;
+        }
+        for (int y = 0; y < 16; ++y) {
+            for (int z = 0; z < 16; ++z) {
+                for (int x = 0; x < 16; ++x) {
+                    BlockState state = section.getBlockState(x, y, z);
+                    if (!filter.test(state)) {
+                        continue;
+                    }
+                    int value = valueGetter.applyAsInt(state);
+                    if (value >= 0) {
+                        entries.add(SectionBlockIndex.packEntry(
+                                SectionBlockIndex.packLocalIndex(x, y, z), value));
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static class IndexedSection {
+
+        private final IntArrayList entries;
+        private int stamp;
+
+        private IndexedSection(IntArrayList entries, int stamp) {
+            this.entries = entries;
+            this.stamp = stamp;
+        }
+    }
+
+    private static int packEntry(int localIndex, int value) {
+        return (Math.min(value, MAX_VALUE) << LOCAL_INDEX_BITS) | localIndex;
+    }
+
+    private static int packLocalIndex(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    private static int unpackLocalX(int localIndex) {
+        return localIndex & 15;
+    }
+
+    private static int unpackLocalY(int localIndex) {
+        return (localIndex >> 8) & 15;
+    }
+
+    private static int unpackLocalZ(int localIndex) {
+        return (localIndex >> 4) & 15;
+    }
+}
@@ -64,6 +64,12 @@ import org.jetbrains.annotations.Nullable;
 // Custom noise-based chunk generator that allows for additional generation behaviors
 public abstract class CustomNoiseChunkGenerator extends NoiseChunkGenerator {
 
+    @FunctionalInterface
+    public interface BlockStateModifier {
+
+        BlockState modify(BlockState state, int x, int y, int z);
+    }
+
     private static final BlockState AIR = Blocks.AIR.getDefaultState();
 
     private final Supplier<AquiferSampler.FluidLevelSampler> customFluidLevelSampler;
@@ -78,6 +84,12 @@ public abstract class CustomNoiseChunkGenerator extends NoiseChunkGenerator {
     public abstract BlockState modifyBlockState(BlockState state, NoiseConfig noiseConfig, int x,
             int y, int z);
 
+    // Called once per chunk before its noise is filled, so subclasses can reuse work across blocks
+    protected BlockStateModifier createBlockStateModifier(NoiseConfig noiseConfig,
+            ChunkPos chunkPos) {
+        return (state, x, y, z) -> this.modifyBlockState(state, noiseConfig, x, y, z);
+    }
+
     @Override
     public int getHeight(int x, int z, Type heightmap, HeightLimitView world,
             NoiseConfig noiseConfig) {
@@ -234,6 +246,8 @@ public abstract class CustomNoiseChunkGenerator extends NoiseChunkGenerator {
         ChunkPos chunkPos = chunk.getPos();
         int startX = chunkPos.getStartX();
         int startZ = chunkPos.getStartZ();
+        BlockStateModifier blockStateModifier = this.createBlockStateModifier(noiseConfig,
+                chunkPos);
         AquiferSampler aquiferSampler = chunkNoiseSampler.getAquiferSampler();
         chunkNoiseSampler.sampleStartDensity();
         BlockPos.Mutable mutable = new BlockPos.Mutable();
@@ -278,8 +292,7 @@ public abstract class CustomNoiseChunkGenerator extends NoiseChunkGenerator {
                                 }
 
                                 // Allow block state to be modified before placement
-                                blockState = this.modifyBlockState(blockState, noiseConfig, x, y,
-                                        z);
+                                blockState = blockStateModifier.modify(blockState, x, y, z);
                                 chunkSection.setBlockState(chunkX, chunkY, chunkZ, blockState,
                                         false);
                                 oceanFloorHeightmap.trackUpdate(chunkX, y, chunkZ, blockState);
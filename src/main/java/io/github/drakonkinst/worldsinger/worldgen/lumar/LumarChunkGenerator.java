@@ -40,6 +40,7 @@ import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.fluid.FluidState;
 import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.biome.source.BiomeSource;
 import net.minecraft.world.gen.chunk.AquiferSampler;
 import net.minecraft.world.gen.chunk.AquiferSampler.FluidLevelSampler;
@@ -91,23 +92,31 @@ public class LumarChunkGenerator extends CustomNoiseChunkGenerator {
     }
 
     public static SporeSeaEntry getSporeSeaEntryAtPos(NoiseConfig noiseConfig, int x, int z) {
+        SporeSeaRaster raster = ((SporeSeaRasterAccess) (Object) noiseConfig)
+                .worldsinger$getSporeSeaRaster();
+        return SPORE_SEA_ENTRIES[raster.getEntryIndex(noiseConfig, x, z)];
+    }
+
+    // Samples the noise directly, bypassing the raster cache
+    public static int sampleSporeSeaEntryIndex(NoiseConfig noiseConfig, int x, int z) {
         DensityFunction temperature = noiseConfig.getNoiseRouter().temperature();
         double first = temperature.sample(new DensityFunction.UnblendedNoisePos(x, 0, z));
         double second = temperature.sample(
                 new DensityFunction.UnblendedNoisePos(z + SHIFT_X, 0, x + SHIFT_Z));
-        return LumarChunkGenerator.getNearestSporeSeaEntry(first, second);
+        return LumarChunkGenerator.getNearestSporeSeaEntryIndex(first, second);
     }
 
-    private static SporeSeaEntry getNearestSporeSeaEntry(double x, double y) {
+    static int getNearestSporeSeaEntryIndex(double x, double y) {
         double minDistSq = Double.MAX_VALUE;
-        SporeSeaEntry result = SPORE_SEA_ENTRIES[0];
+        int result = 0;
 
-        for (SporeSeaEntry entry : SPORE_SEA_ENTRIES) {
+        for (int i = 0; i < SPORE_SEA_ENTRIES.length; ++i) {
+            SporeSeaEntry entry = SPORE_SEA_ENTRIES[i];
             double deltaX = entry.noiseX() - x;
             double deltaY = entry.noiseY() - y;
             double distSq = deltaX * deltaX + deltaY * deltaY;
             if (distSq < minDistSq) {
-                result = entry;
+                result = i;
                 minDistSq = distSq;
             }
         }
@@ -130,6 +139,25 @@ public class LumarChunkGenerator extends CustomNoiseChunkGenerator {
         return LumarChunkGenerator.getSporeSeaBlockAtPos(noiseConfig, x, z);
     }
 
+    @Override
+    protected BlockStateModifier createBlockStateModifier(NoiseConfig noiseConfig,
+            ChunkPos chunkPos) {
+        // The spore sea only depends on the column, so resolve each column at most once per chunk
+        BlockState[] columns = new BlockState[16 * 16];
+        return (state, x, y, z) -> {
+            if (!state.isOf(PLACEHOLDER_BLOCK)) {
+                return state;
+            }
+            int index = ((z & 0xF) << 4) | (x & 0xF);
+            BlockState sporeSeaState = columns[index];
+            if (sporeSeaState == null) {
+                sporeSeaState = LumarChunkGenerator.getSporeSeaBlockAtPos(noiseConfig, x, z);
+                columns[index] = sporeSeaState;
+            }
+            return sporeSeaState;
+        };
+    }
+
     @Override
     protected boolean shouldSkipPostProcessing(AquiferSampler aquiferSampler, FluidState fluidState,
             int y) {
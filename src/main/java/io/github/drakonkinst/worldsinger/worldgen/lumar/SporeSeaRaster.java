@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2024 Drakonkinst
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.drakonkinst.worldsinger.worldgen.lumar;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import java.util.Arrays;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.gen.noise.NoiseConfig;
+
+// Caches spore sea IDs on a coarse lattice so repeated lookups (chunk generation, carvers,
+// rainline pathing, locate probes) do not have to resample the temperature noise every time.
+// Lattice points hold exact samples. Positions between lattice points reuse the shared value if
+// all four surrounding lattice points agree, and are sampled exactly otherwise, so the result only
+// depends on the seed and position and never on what happens to be cached.
+public class SporeSeaRaster {
+
+    private static final int CELL_SIZE_BITS = 2;
+    private static final int CELL_SIZE_MASK = (1 << CELL_SIZE_BITS) - 1;
+    private static final int TILE_SIZE_BITS = 6;
+    private static final int TILE_SIZE_MASK = (1 << TILE_SIZE_BITS) - 1;
+    private static final int TILE_AREA = 1 << (TILE_SIZE_BITS * 2);
+    private static final int NUM_STRIPES_BITS = 4;
+    private static final int NUM_STRIPES = 1 << NUM_STRIPES_BITS;
+    private static final int MAX_TILES_PER_STRIPE = 256 / NUM_STRIPES;
+    private static final byte UNKNOWN = -1;
+
+    // Worldgen threads sample in parallel, so tiles are split across independently locked stripes.
+    // Each stripe is access-ordered, so its first entry is always its least recently used tile.
+    @SuppressWarnings("unchecked")
+    private final Long2ObjectLinkedOpenHashMap<byte[]>[] stripes =
+            new Long2ObjectLinkedOpenHashMap[NUM_STRIPES];
+    // Consecutive samples on a thread almost always land in the same tile, so remember the last
+    // one to skip the stripe lock entirely. Tiles stay valid after eviction, since every thread
+    // computes the same values for them.
+    private final ThreadLocal<LastTile> lastTiles = ThreadLocal.withInitial(LastTile::new);
+
+    public SporeSeaRaster() {
+        for (int i = 0; i < NUM_STRIPES; ++i) {
+            stripes[i] = new Long2ObjectLinkedOpenHashMap<>();
+        }
+    }
+
+    public int getEntryIndex(NoiseConfig noiseConfig, int x, int z) {
+        int cellX = x >> CELL_SIZE_BITS;
+        int cellZ = z >> CELL_SIZE_BITS;
+        byte[] tile = getTile(cellX, cellZ);
+        int first = getLatticeValue(noiseConfig, tile, cellX, cellZ);
+        if ((x & CELL_SIZE_MASK) == 0 && (z & CELL_SIZE_MASK) == 0) {
+            return first;
+        }
+
+        // Corners on the far edge of the tile belong to neighboring tiles
+        boolean sameTileX = (cellX & TILE_SIZE_MASK) != TILE_SIZE_MASK;
+        boolean sameTileZ = (cellZ & TILE_SIZE_MASK) != TILE_SIZE_MASK;
+        byte[] tileX = sameTileX ? tile : getTile(cellX + 1, cellZ);
+        byte[] tileZ = sameTileZ ? tile : getTile(cellX, cellZ + 1);
+        byte[] tileXZ = sameTileX && sameTileZ ? tile : getTile(cellX + 1, cellZ + 1);
+        if (getLatticeValue(noiseConfig, tileX, cellX + 1, cellZ) == first
+                && getLatticeValue(noiseConfig, tileZ, cellX, cellZ + 1) == first
+                && getLatticeValue(noiseConfig, tileXZ, cellX + 1, cellZ + 1) == first) {
+            return first;
+        }
+        return LumarChunkGenerator.sampleSporeSeaEntryIndex(noiseConfig, x, z);
+    }
+
+    private byte[] getTile(int cellX, int cellZ) {
+        long key = ChunkPos.toLong(cellX >> TILE_SIZE_BITS, cellZ >> TILE_SIZE_BITS);
+        LastTile lastTile = lastTiles.get();
+        if (lastTile.tile != null && lastTile.key == key) {
+            return lastTile.tile;
+        }
+
+        int stripe = (int) HashCommon.mix(key) & (NUM_STRIPES - 1);
+        Long2ObjectLinkedOpenHashMap<byte[]> tiles = stripes[stripe];
+        byte[] tile;
+        synchronized (tiles) {
+            tile = tiles.getAndMoveToLast(key);
+            if (tile == null) {
+                tile = new byte[TILE_AREA];
+                Arrays.fill(tile, UNKNOWN);
+                tiles.putAndMoveToLast(key, tile);
+                if (tiles.size() > MAX_TILES_PER_STRIPE) {
+                    tiles.removeFirst();
+                }
+            }
+        }
+        lastTile.key = key;
+        lastTile.tile = tile;
+        return tile;
+    }
+
+    // Writes race benignly, since every thread computes the same value for a given lattice point
+    private static int getLatticeValue(NoiseConfig noiseConfig, byte[] tile, int cellX,
+            int cellZ) {
+        int index = ((cellZ & TILE_SIZE_MASK) << TILE_SIZE_BITS) | (cellX & TILE_SIZE_MASK);
+        byte value = tile[index];
+        if (value == UNKNOWN) {
+            value = (byte) LumarChunkGenerator.sampleSporeSeaEntryIndex(noiseConfig,
+                    cellX << CELL_SIZE_BITS, cellZ << CELL_SIZE_BITS);
+            tile[index] = value;
+        }
+        return value;
+    }
+
+    private static class LastTile {
+
+        private long key;
+        private byte[] tile;
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.drakonkinst.worldsinger.cosmere.lumar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.drakonkinst.worldsinger.cosmere.lumar.RainlinePath.Spline;
+import io.github.drakonkinst.worldsinger.util.math.Int2;
+import java.util.List;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec2f;
+import net.minecraft.util.math.random.Random;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+class RainlinePathTest {
+
+    private static final int NUM_SEEDS = 16;
+    // Must match RainlinePath
+    private static final int LENGTH_APPROX_STEPS = 32;
+
+    @Test
+    void findsSameSplineAsLinearScan() {
+        Vector2f actual = new Vector2f();
+        Vector2f expected = new Vector2f();
+        for (long seed = 0; seed < NUM_SEEDS; ++seed) {
+            RainlinePath path = RainlinePathTest.createPath(seed, false);
+            float totalLength = path.getCumulativeLength(RainlinePath.RAINLINE_NODE_COUNT);
+            for (int i = 0; i <= RainlinePath.RAINLINE_NODE_COUNT; ++i) {
+                float boundary = path.getCumulativeLength(i);
+                for (float distance : new float[] {
+                        Math.nextDown(boundary), boundary, Math.nextUp(boundary)
+                }) {
+                    if (distance < totalLength) {
+                        RainlinePathTest.assertSamePosition(path, distance, actual, expected);
+                    }
+                }
+            }
+            RainlinePathTest.assertSamePosition(path, 0.0f, actual, expected);
+            RainlinePathTest.assertSamePosition(path, Math.nextDown(totalLength), actual,
+                    expected);
+
+            Random random = Random.create(seed);
+            for (int i = 0; i < 256; ++i) {
+                RainlinePathTest.assertSamePosition(path, random.nextFloat() * totalLength,
+                        actual, expected);
+            }
+        }
+    }
+
+    @Test
+    void bakesSamePositionsAtWholeSteps() {
+        Vector2f baked = new Vector2f();
+        Vector2f exact = new Vector2f();
+        for (long seed = 0; seed < NUM_SEEDS; ++seed) {
+            RainlinePath bakedPath = RainlinePathTest.createPath(seed, true);
+            RainlinePath exactPath = RainlinePathTest.createPath(seed, false);
+            int maxSteps = exactPath.getMaxSteps();
+            assertEquals(maxSteps, bakedPath.getMaxSteps());
+            for (int step = 0; step < maxSteps; ++step) {
+                bakedPath.getPositionForStepProgress(step, baked);
+                exactPath.getPositionForStepProgress(step, exact);
+                assertEquals(exact, baked, "seed " + seed + ", step " + step);
+            }
+            // The last step is only reached by interpolating towards it
+            bakedPath.getPositionForStepProgress(maxSteps, baked);
+            exactPath.getPositionForStepProgress(maxSteps, exact);
+            assertEquals(exact.x, baked.x, 1.0e-3f);
+            assertEquals(exact.y, baked.y, 1.0e-3f);
+        }
+    }
+
+    @Test
+    void approximatesSameLengthAsWraparoundSum() {
+        for (long seed = 0; seed < NUM_SEEDS; ++seed) {
+            RainlinePath path = RainlinePathTest.createPath(seed, false);
+            for (int i = 0; i < RainlinePath.RAINLINE_NODE_COUNT; ++i) {
+                Spline spline = path.getSpline(i);
+                assertEquals(RainlinePathTest.calculateWraparoundLength(spline.ax(), spline.ay(),
+                        spline.bx(), spline.by(), spline.cx(), spline.cy(), spline.dx(),
+                        spline.dy()), spline.length());
+            }
+        }
+
+        Random random = Random.create(0L);
+        for (int i = 0; i < 256; ++i) {
+            float[] c = new float[8];
+            for (int j = 0; j < c.length; ++j) {
+                c[j] = (random.nextFloat() - 0.5f) * 4000.0f;
+            }
+            assertEquals(
+                    RainlinePathTest.calculateWraparoundLength(c[0], c[1], c[2], c[3], c[4], c[5],
+                            c[6], c[7]),
+                    Spline.calculateApproxLength(c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7]));
+        }
+    }
+
+    private static RainlinePath createPath(long seed, boolean bakePositions) {
+        List<Int2> nodes = RainlinePath.generateRainlineNodes(0, 0, Random.create(seed));
+        return new RainlinePath(nodes, bakePositions);
+    }
+
+    private static void assertSamePosition(RainlinePath path, float distance, Vector2f actual,
+            Vector2f expected) {
+        path.getPositionForDistanceAlongCycle(distance, actual);
+        RainlinePathTest.getPositionByLinearScan(path, distance, expected);
+        assertEquals(expected, actual, "distance " + distance);
+    }
+
+    // Reference lookup that walks every spline in order
+    private static void getPositionByLinearScan(RainlinePath path, float distance,
+            Vector2f dest) {
+        Spline firstSpline = path.getSpline(0);
+        if (distance <= 0) {
+            dest.set(firstSpline.applyX(0.0f), firstSpline.applyY(0.0f));
+            return;
+        }
+        float currentDistance = 0.0f;
+        for (int i = 0; i < RainlinePath.RAINLINE_NODE_COUNT; ++i) {
+            Spline spline = path.getSpline(i);
+            float nextDistance = currentDistance + spline.length();
+            if (nextDistance >= distance) {
+                float t = MathHelper.clamp((distance - currentDistance) / spline.length(), 0.0f,
+                        1.0f);
+                dest.set(spline.applyX(t), spline.applyY(t));
+                return;
+            }
+            currentDistance = nextDistance;
+        }
+        dest.set(firstSpline.applyX(0.0f), firstSpline.applyY(0.0f));
+    }
+
+    // Reference length that samples every point up front, then sums the distances between
+    // neighbors including the last and first points
+    private static float calculateWraparoundLength(float ax, float ay, float bx, float by,
+            float cx, float cy, float dx, float dy) {
+        Vec2f[] points = new Vec2f[LENGTH_APPROX_STEPS];
+        for (int i = 0; i < LENGTH_APPROX_STEPS; ++i) {
+            float t = (float) i / LENGTH_APPROX_STEPS;
+            points[i] = new Vec2f(RainlinePathTest.apply(ax, bx, cx, dx, t),
+                    RainlinePathTest.apply(ay, by, cy, dy, t));
+        }
+        float distance = 0.0f;
+        for (int i = 0; i < LENGTH_APPROX_STEPS; ++i) {
+            Vec2f point = points[i];
+            Vec2f nextPoint = points[(i + 1) % LENGTH_APPROX_STEPS];
+            distance += MathHelper.sqrt(point.distanceSquared(nextPoint));
+        }
+        return distance;
+    }
+
+    private static float apply(float a, float b, float c, float d, float t) {
+        final float t2 = t * t;
+        return a * t2 * t + b * t2 + c * t + d;
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.drakonkinst.worldsinger.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.random.Random;
+import org.junit.jupiter.api.Test;
+
+class FloodFillTest {
+
+    private static final BlockPos START_POS = new BlockPos(100, 64, -200);
+
+    @Test
+    void spreadsOutsideWindow() {
+        // A line along X, which leaves the 64-block window around the start position halfway
+        int length = 100;
+        Long2IntMap visitCounts = new Long2IntOpenHashMap();
+        FloodFill.run(START_POS, Integer.MAX_VALUE, null, (pos, depth) -> {
+            visitCounts.mergeInt(pos.asLong(), 1, Integer::sum);
+            int offsetX = pos.getX() - START_POS.getX();
+            boolean isOnLine = pos.getY() == START_POS.getY() && pos.getZ() == START_POS.getZ()
+                    && offsetX >= 0 && offsetX < length;
+            if (isOnLine) {
+                assertEquals(offsetX, depth);
+                return FloodFill.EXPAND;
+            }
+            return FloodFill.SKIP;
+        });
+
+        for (int i = 0; i < length; ++i) {
+            assertEquals(1, visitCounts.get(START_POS.east(i).asLong()));
+        }
+        // Each position along the line also reaches its four sideways neighbors, and the line
+        // reaches one position past each end
+        assertEquals(length * 5 + 2, visitCounts.size());
+        for (Long2IntMap.Entry entry : visitCounts.long2IntEntrySet()) {
+            assertEquals(1, entry.getIntValue(), BlockPos.fromLong(entry.getLongKey()).toString());
+        }
+    }
+
+    @Test
+    void stopsExpandingAtMaxDepth() {
+        List<BlockPos> visited = new ArrayList<>();
+        FloodFill.run(START_POS, 2, null, (pos, depth) -> {
+            assertTrue(depth <= 2);
+            assertEquals(FloodFillTest.getDistance(pos), depth);
+            visited.add(pos.toImmutable());
+            return FloodFill.EXPAND;
+        });
+        // Positions within a taxicab distance of 2
+        assertEquals(1 + 6 + 18, visited.size());
+    }
+
+    @Test
+    void stopsWhenVisitorReturnsStop() {
+        int[] numVisited = { 0 };
+        FloodFill.run(START_POS, Integer.MAX_VALUE, null,
+                (pos, depth) -> ++numVisited[0] >= 10 ? FloodFill.STOP : FloodFill.EXPAND);
+        assertEquals(10, numVisited[0]);
+
+        // Nothing from the stopped fill should carry over to the next one
+        assertEquals(7, FloodFillTest.countVisited(START_POS, 1));
+    }
+
+    @Test
+    void allowsNestedFills() {
+        int[] numOuterVisited = { 0 };
+        int[] numInnerVisited = { 0 };
+        FloodFill.run(START_POS, 1, null, (pos, depth) -> {
+            ++numOuterVisited[0];
+            if (depth == 0) {
+                // Starts from the same position, which the outer fill has already visited
+                numInnerVisited[0] = FloodFillTest.countVisited(START_POS, 1);
+            }
+            return FloodFill.EXPAND;
+        });
+        assertEquals(7, numOuterVisited[0]);
+        assertEquals(7, numInnerVisited[0]);
+    }
+
+    @Test
+    void growsQueueAfterWrapping() {
+        // Shells at taxicab distance d hold 4d^2 + 2 positions, so the queue first fills its
+        // initial 256 entries while holding shells 7 and 8. Over 256 positions have been dequeued
+        // by then, so the head is partway through the ring when it grows.
+        int maxDepth = 12;
+        Long2IntMap depths = new Long2IntOpenHashMap();
+        int[] lastDepth = { 0 };
+        FloodFill.run(START_POS, maxDepth, null, (pos, depth) -> {
+            assertTrue(depth >= lastDepth[0]);
+            lastDepth[0] = depth;
+            assertEquals(FloodFillTest.getDistance(pos), depth);
+            assertEquals(0, depths.put(pos.asLong(), depth + 1));
+            return FloodFill.EXPAND;
+        });
+
+        int expectedSize = 0;
+        for (int d = 0; d <= maxDepth; ++d) {
+            expectedSize += d == 0 ? 1 : 4 * d * d + 2;
+        }
+        assertEquals(expectedSize, depths.size());
+    }
+
+    @Test
+    void shufflesLikeDirectionShuffle() {
+        for (long seed = 0; seed < 32; ++seed) {
+            List<Direction> expected = new ArrayList<>(Direction.shuffle(Random.create(seed)));
+            List<Direction> actual = new ArrayList<>();
+            FloodFill.run(START_POS, 1, Random.create(seed), (pos, depth) -> {
+                if (depth == 1) {
+                    actual.add(FloodFillTest.getDirectionFromStart(pos));
+                }
+                return FloodFill.EXPAND;
+            });
+            assertEquals(expected, actual, "seed " + seed);
+        }
+    }
+
+    private static int countVisited(BlockPos startPos, int maxDepth) {
+        int[] numVisited = { 0 };
+        FloodFill.run(startPos, maxDepth, null, (pos, depth) -> {
+            ++numVisited[0];
+            return FloodFill.EXPAND;
+        });
+        return numVisited[0];
+    }
+
+    private static Direction getDirectionFromStart(BlockPos pos) {
+        for (Direction direction : Direction.values()) {
+            if (START_POS.offset(direction).equals(pos)) {
+                return direction;
+            }
+        }
+        throw new IllegalArgumentException("Not next to the start position: " + pos);
+    }
+
+    private static int getDistance(BlockPos pos) {
+        return pos.getManhattanDistance(START_POS);
+    }
+}